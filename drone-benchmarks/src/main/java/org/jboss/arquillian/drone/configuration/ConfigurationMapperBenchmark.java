@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.configuration;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.arquillian.drone.api.annotation.Qualifier;
+import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
+import org.jboss.arquillian.drone.webdriver.factory.BrowserCapabilitiesList;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures mapping of a {@link WebDriverConfiguration} from arquillian.xml, which is done for every drone point. The
+ * descriptor holds a typical webdriver extension, a few typed properties and capabilities which end up in the
+ * capability map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationMapperBenchmark {
+
+    private ArquillianDescriptor descriptor;
+
+    @Setup
+    public void setup() {
+        descriptor = Descriptors.create(ArquillianDescriptor.class)
+            .extension("webdriver")
+            .property("browser", "chrome")
+            .property("remoteAddress", "http://localhost:4444/wd/hub")
+            .property("remoteReusable", "true")
+            .property("reuseCookies", "false")
+            .property("iePort", "5555")
+            .property("dimensions", "1280x1024")
+            .property("chromeArguments", "--headless --disable-gpu")
+            .property("chromeBinary", "/usr/bin/chromium")
+            .property("acceptInsecureCerts", "true")
+            .property("pageLoadStrategy", "eager")
+            .extension("webdriver-different")
+            .property("browser", "firefox")
+            .property("firefoxArguments", "-headless");
+    }
+
+    @Benchmark
+    public WebDriverConfiguration defaultQualifier() {
+        return ConfigurationMapper.fromArquillianDescriptor(descriptor,
+            new WebDriverConfiguration(new BrowserCapabilitiesList.Chrome()), Default.class);
+    }
+
+    @Benchmark
+    public WebDriverConfiguration differentQualifier() {
+        return ConfigurationMapper.fromArquillianDescriptor(descriptor,
+            new WebDriverConfiguration(new BrowserCapabilitiesList.Chrome()), Different.class);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Qualifier
+    public @interface Different {
+    }
+}
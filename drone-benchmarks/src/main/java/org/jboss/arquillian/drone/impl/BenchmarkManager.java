@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.impl.context.ApplicationContextImpl;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.core.spi.ManagerBuilder;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.test.impl.context.ClassContextImpl;
+import org.jboss.arquillian.test.impl.context.SuiteContextImpl;
+import org.jboss.arquillian.test.impl.context.TestContextImpl;
+import org.jboss.arquillian.test.spi.context.SuiteContext;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+
+/**
+ * Builds an Arquillian {@link Manager} with the same contexts a test run has, so the benchmarks can fire the real life
+ * cycle events against Drone observers. The only drone known to the manager is the mock drone.
+ */
+final class BenchmarkManager {
+
+    private BenchmarkManager() {
+    }
+
+    static Manager create(Class<?>... extensions) {
+        ManagerBuilder builder = ManagerBuilder.from()
+            .context(ApplicationContextImpl.class)
+            .context(SuiteContextImpl.class)
+            .context(ClassContextImpl.class)
+            .context(TestContextImpl.class)
+            .extensions(extensions);
+
+        Manager manager = builder.create();
+        manager.start();
+
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class)
+            .extension("mockdrone").property("field", "benchmark");
+
+        StaticServiceLoader serviceLoader = new StaticServiceLoader();
+        serviceLoader.register(Configurator.class, new MockDroneFactory());
+        serviceLoader.register(Instantiator.class, new MockDroneFactory());
+        serviceLoader.register(Destructor.class, new MockDroneFactory());
+
+        manager.bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        manager.bind(ApplicationScoped.class, ArquillianDescriptor.class, descriptor);
+
+        manager.getContext(SuiteContext.class).activate();
+        return manager;
+    }
+
+    /**
+     * A {@link ServiceLoader} returning fixed service instances instead of looking them up on the class path.
+     */
+    private static class StaticServiceLoader implements ServiceLoader {
+
+        private final Map<Class<?>, List<Object>> services = new HashMap<Class<?>, List<Object>>();
+
+        <T> void register(Class<T> serviceClass, T instance) {
+            List<Object> registered = services.get(serviceClass);
+            if (registered == null) {
+                registered = new ArrayList<Object>();
+                services.put(serviceClass, registered);
+            }
+            registered.add(instance);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Collection<T> all(Class<T> serviceClass) {
+            List<Object> registered = services.get(serviceClass);
+            return registered == null ? Collections.<T>emptyList() : (Collection<T>) registered;
+        }
+
+        @Override
+        public <T> T onlyOne(Class<T> serviceClass) {
+            Collection<T> all = all(serviceClass);
+            return all.isEmpty() ? null : all.iterator().next();
+        }
+
+        @Override
+        public <T> T onlyOne(Class<T> serviceClass, Class<? extends T> defaultServiceClass) {
+            T service = onlyOne(serviceClass);
+            if (service != null) {
+                return service;
+            }
+            try {
+                return defaultServiceClass.newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to create " + defaultServiceClass.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.container.test.api.OperateOnDeployment;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.deployment.DeploymentNameKey;
+import org.jboss.arquillian.drone.spi.filter.DeploymentFilter;
+import org.jboss.arquillian.drone.spi.filter.LifecycleFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups in a {@link DroneContextImpl} holding the given number of drone points, spread over three drone types
+ * and all the life cycles. Large suites with deployment scoped drones easily register thousands of drone points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DroneContextBenchmark {
+
+    private static final Class<?>[] DRONE_TYPES = {MockDrone.class, String.class, Integer.class};
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private Manager manager;
+    private DroneContext context;
+    private DronePoint<?>[] dronePoints;
+    private int cursor;
+
+    private LifecycleFilter methodFilter;
+    private DeploymentFilter deploymentFilter;
+
+    @Setup
+    public void setup() {
+        manager = BenchmarkManager.create();
+        context = new DroneContextImpl();
+        manager.inject(context);
+
+        DronePoint.Lifecycle[] lifecycles = DronePoint.Lifecycle.values();
+        String firstDeployment = null;
+        dronePoints = new DronePoint<?>[size];
+        for (int i = 0; i < size; i++) {
+            DronePoint.Lifecycle lifecycle = lifecycles[i % lifecycles.length];
+            String deployment = "deployment" + i;
+            if (firstDeployment == null && lifecycle == DronePoint.Lifecycle.DEPLOYMENT) {
+                firstDeployment = deployment;
+            }
+            dronePoints[i] = register(DRONE_TYPES[i % DRONE_TYPES.length], lifecycle, deployment);
+        }
+
+        methodFilter = new LifecycleFilter(DronePoint.Lifecycle.METHOD);
+        deploymentFilter = new DeploymentFilter(firstDeployment);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public DronePointContext<?> get() {
+        return context.get(nextDronePoint());
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return context.contains(nextDronePoint());
+    }
+
+    @Benchmark
+    public int findByType() {
+        return context.find(MockDrone.class).size();
+    }
+
+    @Benchmark
+    public int findByLifecycle() {
+        return context.find(MockDrone.class).filter(methodFilter).size();
+    }
+
+    @Benchmark
+    public int findByDeployment() {
+        return context.find(Object.class).filter(deploymentFilter).size();
+    }
+
+    private DronePoint<?> nextDronePoint() {
+        if (++cursor == dronePoints.length) {
+            cursor = 0;
+        }
+        return dronePoints[cursor];
+    }
+
+    private <T> DronePoint<T> register(Class<T> droneType, DronePoint.Lifecycle lifecycle, final String deployment) {
+        OperateOnDeployment operateOnDeployment = new OperateOnDeployment() {
+            @Override
+            public String value() {
+                return deployment;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return OperateOnDeployment.class;
+            }
+        };
+
+        DronePoint<T> dronePoint = new DronePointImpl<T>(droneType, lifecycle, operateOnDeployment);
+        DronePointContext<T> dronePointContext = context.get(dronePoint);
+        if (lifecycle == DronePoint.Lifecycle.DEPLOYMENT) {
+            dronePointContext.setMetadata(DeploymentNameKey.class, deployment);
+        }
+        return dronePoint;
+    }
+}
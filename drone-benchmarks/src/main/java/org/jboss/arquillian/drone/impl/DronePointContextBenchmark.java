@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures retrieval of an already instantiated drone from {@link DronePointContextImpl}. The executor round trip
+ * benchmark is the cost every retrieval used to pay before the cached value was returned directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DronePointContextBenchmark {
+
+    private DronePointContextImpl<Object> dronePointContext;
+    private ConstantValueCachingCallable<Object> callable;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        DronePoint<Object> dronePoint = new DronePointImpl<Object>(Object.class, DronePoint.Lifecycle.CLASS,
+            new Default() {
+                @Override
+                public Class<Default> annotationType() {
+                    return Default.class;
+                }
+            });
+        callable = new ConstantValueCachingCallable<Object>(new Object());
+        dronePointContext = new DronePointContextImpl<Object>(dronePoint);
+        dronePointContext.setFutureInstance(callable);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object cachedInstance() {
+        return dronePointContext.getInstance();
+    }
+
+    @Benchmark
+    public Object executorRoundTrip() throws Exception {
+        return executor.submit((Callable<Object>) callable).get(60, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.api.annotation.Qualifier;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DroneTestEnricher} against mock drones, which are created instantly, so only the cost of Drone itself
+ * is measured. Enriching a test instance with class scoped drones is paid for every test method, the method life cycle
+ * benchmark additionally creates and destroys a method scoped drone as a single test method does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DroneTestEnricherBenchmark {
+
+    private Manager manager;
+    private DroneTestEnricher testEnricher;
+    private EnrichedTest testInstance;
+    private Method droneMethod;
+    private Method plainMethod;
+
+    @Setup
+    public void setup() throws Exception {
+        manager = BenchmarkManager.create(DroneLifecycleManager.class, DroneRegistrar.class, DroneConfigurator.class,
+            DroneDestructor.class);
+        testEnricher = new DroneTestEnricher();
+        manager.inject(testEnricher);
+
+        testInstance = new EnrichedTest();
+        droneMethod = EnrichedTest.class.getMethod("testWithDrone", MockDrone.class);
+        plainMethod = EnrichedTest.class.getMethod("testWithoutDrone");
+
+        manager.fire(new BeforeSuite());
+        manager.getContext(ClassContext.class).activate(EnrichedTest.class);
+        manager.fire(new BeforeClass(EnrichedTest.class));
+        // the first enrichment instantiates the class scoped drones
+        testEnricher.enrich(testInstance);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.fire(new AfterClass(EnrichedTest.class));
+        manager.getContext(ClassContext.class).deactivate();
+        manager.fire(new AfterSuite());
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public Object enrich() {
+        testEnricher.enrich(testInstance);
+        return testInstance.classDrone;
+    }
+
+    @Benchmark
+    public Object[] resolveWithoutDrone() {
+        return testEnricher.resolve(plainMethod);
+    }
+
+    @Benchmark
+    public Object[] methodLifecycle() {
+        TestContext testContext = manager.getContext(TestContext.class);
+        testContext.activate(testInstance);
+        try {
+            manager.fire(new Before(testInstance, droneMethod));
+            Object[] parameters = testEnricher.resolve(droneMethod);
+            manager.fire(new After(testInstance, droneMethod));
+            return parameters;
+        } finally {
+            testContext.deactivate();
+            testContext.destroy(testInstance);
+        }
+    }
+
+    public static class EnrichedTest {
+
+        @Drone
+        MockDrone classDrone;
+
+        @Drone
+        @Different
+        MockDrone differentDrone;
+
+        public void testWithDrone(@Drone @MethodArgument MockDrone methodDrone) {
+        }
+
+        public void testWithoutDrone() {
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    @Qualifier
+    public @interface Different {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    @Qualifier
+    public @interface MethodArgument {
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.container.test.api.OperateOnDeployment;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.api.annotation.lifecycle.MethodLifecycle;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures resolution of drone points from the fields and parameters of a test class. The scanned injection points are
+ * cached per class, the uncached benchmark is the reflective scan every cache miss pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectionPointsBenchmark {
+
+    private Manager manager;
+    private DroneContext context;
+    private Method testMethod;
+
+    @Setup
+    public void setup() throws Exception {
+        manager = BenchmarkManager.create();
+        context = new DroneContextImpl();
+        manager.inject(context);
+        testMethod = ScannedTest.class.getMethod("test", MockDrone.class, String.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public Set<DronePoint<?>> allInClass() {
+        return InjectionPoints.allInClass(context, ScannedTest.class);
+    }
+
+    @Benchmark
+    public Map<Field, DronePoint<?>> fieldsInClass() {
+        return InjectionPoints.fieldsInClass(context, ScannedTest.class);
+    }
+
+    @Benchmark
+    public DronePoint<?>[] parametersInMethod() {
+        return InjectionPoints.parametersInMethod(context, testMethod);
+    }
+
+    @Benchmark
+    public List<Field> uncachedFieldScan() {
+        return SecurityActions.getFieldsWithAnnotation(ScannedTest.class, Drone.class);
+    }
+
+    /**
+     * A test class of a usual shape, a few drones among ordinary fields.
+     */
+    public static class ScannedTest extends ScannedTestBase {
+
+        @Drone
+        MockDrone classDrone;
+
+        @Drone
+        @OperateOnDeployment("deployment")
+        MockDrone deploymentDrone;
+
+        @Drone
+        @MethodLifecycle
+        MockDrone methodDrone;
+
+        String url;
+        int timeout;
+        Object page;
+        Object fragment;
+
+        public void test(@Drone MockDrone parameterDrone, String notADrone) {
+        }
+    }
+
+    public static class ScannedTestBase {
+
+        @Drone
+        MockDrone inheritedDrone;
+
+        String baseUrl;
+        Object resources;
+    }
+}
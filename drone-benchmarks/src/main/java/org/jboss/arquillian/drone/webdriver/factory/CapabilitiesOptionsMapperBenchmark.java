@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+/**
+ * Measures mapping of browser options from capabilities, which is done every time a Chrome drone is instantiated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CapabilitiesOptionsMapperBenchmark {
+
+    private DesiredCapabilities emptyCapabilities;
+    private DesiredCapabilities chromeCapabilities;
+
+    @Setup
+    public void setup() {
+        emptyCapabilities = new DesiredCapabilities();
+
+        chromeCapabilities = new DesiredCapabilities();
+        chromeCapabilities.setCapability("chromeArguments", "--headless --disable-gpu --window-size=1280,1024");
+        chromeCapabilities.setCapability("chromeBinary", "/usr/bin/chromium");
+        chromeCapabilities.setCapability("chromeExperimentalOption",
+            "{\"prefs\": {\"download.default_directory\": \"/tmp/downloads\"}}");
+    }
+
+    @Benchmark
+    public ChromeOptions noOptions() {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        CapabilitiesOptionsMapper.mapCapabilities(chromeOptions, emptyCapabilities, "chrome");
+        return chromeOptions;
+    }
+
+    @Benchmark
+    public ChromeOptions chromeOptions() {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        CapabilitiesOptionsMapper.mapCapabilities(chromeOptions, chromeCapabilities, "chrome");
+        return chromeOptions;
+    }
+}
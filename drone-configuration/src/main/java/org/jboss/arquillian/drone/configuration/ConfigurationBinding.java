@@ -0,0 +1,265 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.configuration;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.drone.configuration.legacy.LegacyConfigurationMapper;
+import org.jboss.arquillian.drone.configuration.mapping.ValueMapper;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+
+/**
+ * Binding plan of a configuration class. The fields of the class are inspected and made accessible only once, their
+ * values are converted by value mappers resolved up front. The way a property name is bound is
+ * resolved once per name as well.
+ *
+ * @see ConfigurationMapper
+ */
+final class ConfigurationBinding {
+    private static final Logger log = Logger.getLogger(ConfigurationBinding.class.getName());
+
+    private static final ClassValue<ConfigurationBinding> BINDINGS = new ClassValue<ConfigurationBinding>() {
+        @Override
+        protected ConfigurationBinding computeValue(Class<?> type) {
+            return new ConfigurationBinding(type);
+        }
+    };
+
+    private final Map<String, FieldBinder> fields;
+    private final List<MapBinder> maps;
+
+    // how a property name is bound, resolved by the first binding of the name
+    private final ConcurrentMap<String, PropertyBinder> properties;
+
+    private ConfigurationBinding(Class<?> configurationClass) {
+        Map<String, FieldBinder> fields = new LinkedHashMap<String, FieldBinder>();
+        for (Field field : SecurityActions.getAccessableFields(configurationClass).values()) {
+            fields.put(field.getName(), new FieldBinder(field));
+        }
+        this.fields = Collections.unmodifiableMap(fields);
+
+        List<MapBinder> maps = new ArrayList<MapBinder>();
+        for (Field field : SecurityActions.getMapFields(configurationClass, String.class, Object.class)) {
+            maps.add(new MapBinder(field));
+        }
+        this.maps = Collections.unmodifiableList(maps);
+
+        this.properties = new ConcurrentHashMap<String, PropertyBinder>();
+    }
+
+    /**
+     * Returns the binding plan of the given configuration class
+     */
+    static ConfigurationBinding of(Class<?> configurationClass) {
+        return BINDINGS.get(configurationClass);
+    }
+
+    /**
+     * Binds the given properties into the configuration
+     */
+    <T extends DroneConfiguration<T>> void bind(T configuration, Map<String, String> nameValuePairs) {
+        try {
+            // extract all Map<String,Object> in the configuration and initialize them
+            List<Map<String, Object>> mapValues = new ArrayList<Map<String, Object>>(maps.size());
+            for (MapBinder map : maps) {
+                mapValues.add(map.getOrCreate(configuration));
+            }
+
+            for (Map.Entry<String, String> nameValue : nameValuePairs.entrySet()) {
+                propertyBinder(nameValue.getKey()).bind(configuration, mapValues, nameValue.getValue());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Could not map Drone configuration(" + configuration.getConfigurationName()
+                + ") for " + configuration.getClass().getName() + " from Arquillian Descriptor", e);
+        }
+    }
+
+    private PropertyBinder propertyBinder(String name) {
+        PropertyBinder binder = properties.get(name);
+        if (binder == null) {
+            binder = resolvePropertyBinder(name);
+            PropertyBinder existing = properties.putIfAbsent(name, binder);
+            if (existing != null) {
+                binder = existing;
+            }
+        }
+        return binder;
+    }
+
+    private PropertyBinder resolvePropertyBinder(String name) {
+        // map a field which has a field directly available in the configuration
+        FieldBinder field = fields.get(name);
+        if (field != null) {
+            return new FieldPropertyBinder(field, null);
+        }
+
+        // map a field which comes from a system property which has a field available in the configuration
+        // note, due to multiple deprecation, it might be possible that field we deprecated in favor of capability
+        // has reversed name value exactly the same as capability - ARQ-1638
+        String reversedName = ConfigurationMapper.keyTransformReverse(name);
+        field = fields.get(reversedName);
+        if (field != null && !field.legacy) {
+            return new FieldPropertyBinder(field, name);
+        }
+
+        // map a field which does not have this luck into all available maps in configuration
+        return new MapPropertyBinder(name);
+    }
+
+    private void bindField(DroneConfiguration<?> configuration, List<Map<String, Object>> mapValues,
+        FieldBinder field, String value) throws IllegalAccessException {
+        if (field.deprecated) {
+            log.log(Level.WARNING, "The property \"{0}\" used in Arquillian \"{1}\" configuration is deprecated.",
+                new Object[] {field.name, configuration.getConfigurationName()});
+        }
+
+        // remap the property into capability if this is a legacy one
+        // or remap the property into different property field
+        if (field.legacy) {
+            String newKey = LegacyConfigurationMapper.remapKey(field.name);
+            String newValue = LegacyConfigurationMapper.remapValue(field.name, value);
+
+            if (LegacyConfigurationMapper.remapsToCapability(field.name)) {
+                bindMapProperty(mapValues, newKey, newValue);
+            } else {
+                bindField(configuration, mapValues, fields.get(newKey), newValue);
+            }
+        }
+
+        // static fields were always mapped as well, Field.set() ignores the configuration instance for them
+        field.field.set(configuration, field.convert(value));
+    }
+
+    private static void bindMapProperty(List<Map<String, Object>> mapValues, String propertyName, String value) {
+        for (Map<String, Object> map : mapValues) {
+            Object typedValue = value;
+            if (CapabilityTypeMapper.isCastNeeded(propertyName)) {
+                typedValue = CapabilityTypeMapper.createTypedObjectFromString(propertyName, value);
+            }
+            // put property into a map
+            map.put(propertyName, typedValue);
+        }
+    }
+
+    /**
+     * Accessible configuration field together with everything needed to convert its value
+     */
+    private static final class FieldBinder {
+        private final Field field;
+        private final String name;
+        private final Class<?> type;
+        // null if no value mapper handled the type when the plan was built
+        private final ValueMapper<?> mapper;
+        private final boolean deprecated;
+        private final boolean legacy;
+
+        FieldBinder(Field field) {
+            this.field = field;
+            this.name = field.getName();
+            this.type = field.getType();
+            this.mapper = findMapper(type);
+            this.deprecated = field.getAnnotation(Deprecated.class) != null;
+            this.legacy = LegacyConfigurationMapper.isLegacy(name);
+        }
+
+        Object convert(String value) {
+            // value mappers might have been registered after the plan was built
+            return mapper != null ? mapper.transform(value) : ConfigurationMapper.convert(type, value);
+        }
+
+        private static ValueMapper<?> findMapper(Class<?> type) {
+            for (ValueMapper<?> mapper : ConfigurationMapper.VALUE_MAPPERS) {
+                if (mapper.handles(type)) {
+                    return mapper;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Accessors of a {@code Map<String, Object>} field
+     */
+    private static final class MapBinder {
+        private final Field field;
+
+        MapBinder(Field field) {
+            this.field = field;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> getOrCreate(Object configuration) throws IllegalAccessException {
+            // get or create a map
+            Map<String, Object> map = (Map<String, Object>) field.get(configuration);
+            if (map == null) {
+                map = new HashMap<String, Object>();
+            }
+            field.set(configuration, map);
+            return map;
+        }
+    }
+
+    private interface PropertyBinder {
+        void bind(DroneConfiguration<?> configuration, List<Map<String, Object>> mapValues, String value)
+            throws IllegalAccessException;
+    }
+
+    private final class FieldPropertyBinder implements PropertyBinder {
+        private final FieldBinder field;
+        // the name of the property if it is in the deprecated format, null otherwise
+        private final String deprecatedName;
+
+        FieldPropertyBinder(FieldBinder field, String deprecatedName) {
+            this.field = field;
+            this.deprecatedName = deprecatedName;
+        }
+
+        @Override
+        public void bind(DroneConfiguration<?> configuration, List<Map<String, Object>> mapValues, String value)
+            throws IllegalAccessException {
+            if (deprecatedName != null) {
+                // we prefer new format arquillian.mockdriver.intField over arquillian.mockdriver.int.field
+                log.log(Level.WARNING,
+                    "The system property \"{0}\" used in Arquillian \"{1}\" configuration is deprecated, please rather use new format \"{2}\"",
+                    new Object[] {deprecatedName, configuration.getConfigurationName(), field.name});
+            }
+            bindField(configuration, mapValues, field, value);
+        }
+    }
+
+    private static final class MapPropertyBinder implements PropertyBinder {
+        private final String name;
+
+        MapPropertyBinder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void bind(DroneConfiguration<?> configuration, List<Map<String, Object>> mapValues, String value) {
+            bindMapProperty(mapValues, name, value);
+        }
+    }
+}
@@ -17,10 +17,8 @@
 package org.jboss.arquillian.drone.configuration;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -28,7 +26,6 @@ import java.util.logging.Logger;
 import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
 import org.jboss.arquillian.config.descriptor.api.ExtensionDef;
 import org.jboss.arquillian.core.spi.Validate;
-import org.jboss.arquillian.drone.configuration.legacy.LegacyConfigurationMapper;
 import org.jboss.arquillian.drone.configuration.mapping.BooleanValueMapper;
 import org.jboss.arquillian.drone.configuration.mapping.DoubleValueMapper;
 import org.jboss.arquillian.drone.configuration.mapping.FileValueMapper;
@@ -99,17 +96,32 @@ public class ConfigurationMapper {
 
         String descriptorQualifier = configuration.getConfigurationName();
         String qualifierName = qualifier.getSimpleName().toLowerCase();
-
         Map<String, String> nameValuePairs = loadNameValuePairs(descriptor, descriptorQualifier, qualifierName);
         // ARQ-1882
-        Map<String, String> sanitizedNameValuePairs = new HashMap<String, String>(nameValuePairs.size());
-        for (Map.Entry<String, String> entry : nameValuePairs.entrySet()) {
-            if (entry.getKey() != null) {
-                sanitizedNameValuePairs.put(entry.getKey(), entry.getValue());
-            }
-        }
+        return mapFromNameValuePairs(configuration, DescriptorProperties.sanitize(nameValuePairs));
+    }
 
-        return mapFromNameValuePairs(configuration, sanitizedNameValuePairs);
+    /**
+     * Maps a configuration using properties already read from Arquillian Descriptor
+     *
+     * @param <T>
+     *     Type of the configuration
+     * @param properties
+     *     Properties of Arquillian Descriptor
+     * @param configuration
+     *     Configuration object
+     * @param qualifier
+     *     Qualifier annotation
+     *
+     * @return Configured configuration
+     */
+    public static <T extends DroneConfiguration<T>> T fromDescriptorProperties(DescriptorProperties properties,
+        T configuration, Class<? extends Annotation> qualifier) {
+        Validate.notNull(properties, "Descriptor properties must not be null");
+        Validate.notNull(configuration, "Configuration object must not be null");
+        Validate.notNull(qualifier, "Qualifier object must not be null");
+
+        return mapFromNameValuePairs(configuration, properties.get(configuration.getConfigurationName(), qualifier));
     }
 
     /**
@@ -125,50 +137,8 @@ public class ConfigurationMapper {
     // @SuppressWarnings("unchecked")
     static <T extends DroneConfiguration<T>> T mapFromNameValuePairs(T configuration,
         Map<String, String> nameValuePairs) {
-        Map<String, Field> fields = SecurityActions.getAccessableFields(configuration.getClass());
-
-        // extract all Map<String,Object> in the configuration and initialize them
-        List<Field> maps = SecurityActions.getMapFields(configuration.getClass(), String.class, Object.class);
-        for (Field mapField : maps) {
-            try {
-                // get or create a map
-                @SuppressWarnings("unchecked")
-                Map<String, Object> map = (Map<String, Object>) mapField.get(configuration);
-                if (map == null) {
-                    map = new HashMap<String, Object>();
-                }
-                mapField.set(configuration, map);
-            } catch (Exception e) {
-                throw new RuntimeException("Could not map Drone configuration(" + configuration.getConfigurationName()
-                    + ") for " + configuration.getClass().getName() + " from Arquillian Descriptor", e);
-            }
-        }
-
-        // map basic fields
-        for (Map.Entry<String, String> nameValue : nameValuePairs.entrySet()) {
-            String name = nameValue.getKey();
-
-            String reversedName = keyTransformReverse(name);
-            // map a field which has a field directly available in the configuration
-            if (fields.containsKey(name)) {
-                injectField(configuration, maps, fields, name, nameValue.getValue());
-            }
-            // map a field which comes from a system property which has a field available in the configuration
-            // note, due to multiple deprecation, it might be possible that field we deprecated in favor of capability
-            // has reversed name value exactly the same as capability - ARQ-1638
-            else if (fields.containsKey(reversedName) && !LegacyConfigurationMapper.isLegacy(reversedName)) {
-                // we prefer new format arquillian.mockdriver.intField over arquillian.mockdriver.int.field
-                log.log(Level.WARNING,
-                    "The system property \"{0}\" used in Arquillian \"{1}\" configuration is deprecated, please rather use new format \"{2}\"",
-                    new Object[] {name, configuration.getConfigurationName(), keyTransformReverse(name)});
-                injectField(configuration, maps, fields, keyTransformReverse(name), nameValue.getValue());
-            }
-            // map a field which does not have this luck into all available maps in configuration
-            else {
-                injectMapProperty(configuration, maps, fields, name, nameValue.getValue());
-            }
-        }
-
+        // the configuration class is inspected only once, see ConfigurationBinding
+        ConfigurationBinding.of(configuration.getClass()).bind(configuration, nameValuePairs);
         return configuration;
     }
 
@@ -242,59 +212,6 @@ public class ConfigurationMapper {
         return sb.toString();
     }
 
-    static <T extends DroneConfiguration<T>> Field injectField(T configuration, List<Field> maps,
-        Map<String, Field> fields,
-        String fieldName, String value) {
-        try {
-            Field f = fields.get(fieldName);
-            if (f.getAnnotation(Deprecated.class) != null) {
-                log.log(Level.WARNING, "The property \"{0}\" used in Arquillian \"{1}\" configuration is deprecated.",
-                    new Object[] {f.getName(), configuration.getConfigurationName()});
-            }
-
-            // remap the property into capability if this is a legacy one
-            // or remap the property into different property field
-            if (LegacyConfigurationMapper.isLegacy(fieldName)) {
-                String newKey = LegacyConfigurationMapper.remapKey(fieldName);
-                String newValue = LegacyConfigurationMapper.remapValue(fieldName, value);
-
-                if (LegacyConfigurationMapper.remapsToCapability(fieldName)) {
-                    injectMapProperty(configuration, maps, fields, newKey, newValue);
-                } else {
-                    injectField(configuration, maps, fields, newKey, newValue);
-                }
-            }
-
-            f.set(configuration, convert(f.getType(), value));
-            return f;
-        } catch (Exception e) {
-            throw new RuntimeException(
-                "Could not map Drone configuration(" + configuration.getConfigurationName() + ") for "
-                    + configuration.getClass().getName() + " from Arquillian Descriptor", e);
-        }
-    }
-
-    static <T extends DroneConfiguration<T>> void injectMapProperty(T configuration, List<Field> maps,
-        Map<String, Field> fields, String propertyName, String value) {
-
-        try {
-            for (Field mapField : maps) {
-                Object typedValue = value;
-                if (CapabilityTypeMapper.isCastNeeded(propertyName)) {
-                    typedValue = CapabilityTypeMapper.createTypedObjectFromString(propertyName, value);
-                }
-                // put property into a map
-                @SuppressWarnings("unchecked")
-                Map<String, Object> map = (Map<String, Object>) mapField.get(configuration);
-                map.put(propertyName, typedValue);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(
-                "Could not map Drone configuration(" + configuration.getConfigurationName() + ") for "
-                    + configuration.getClass().getName() + " from Arquillian Descriptor", e);
-        }
-    }
-
     /**
      * A helper converting method.
      * <p>
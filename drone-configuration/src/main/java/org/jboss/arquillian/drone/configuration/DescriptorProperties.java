@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.configuration;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.config.descriptor.api.ExtensionDef;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+
+/**
+ * Properties of all the extensions of an Arquillian Descriptor, read once and memoized per configuration name and
+ * qualifier. The system properties overriding the descriptor are already merged into it by Arquillian Core when the
+ * descriptor is loaded.
+ * <p>
+ * An instance is read at the beginning of each suite and kept in the suite context, configurators pass it to
+ * {@link ConfigurationMapper#fromDescriptorProperties(DescriptorProperties, DroneConfiguration, Class)} if it was read
+ * from the descriptor they are given, see {@link #isReadFrom(ArquillianDescriptor)}.
+ */
+public final class DescriptorProperties {
+    private static final Logger log = Logger.getLogger(DescriptorProperties.class.getName());
+
+    private final ArquillianDescriptor descriptor;
+
+    // sanitized properties by extension name, if a name is used more than once the first and the last one are kept
+    private final Map<String, Map<String, String>> firstExtensions;
+    private final Map<String, Map<String, String>> lastExtensions;
+
+    private final ConcurrentMap<String, ConcurrentMap<Class<? extends Annotation>, Map<String, String>>> resolved;
+
+    public DescriptorProperties(ArquillianDescriptor descriptor) {
+        this.descriptor = descriptor;
+        this.firstExtensions = new HashMap<String, Map<String, String>>();
+        this.lastExtensions = new HashMap<String, Map<String, String>>();
+        this.resolved = new ConcurrentHashMap<String, ConcurrentMap<Class<? extends Annotation>, Map<String, String>>>();
+
+        for (ExtensionDef extension : descriptor.getExtensions()) {
+            Map<String, String> properties = sanitize(extension.getExtensionProperties());
+            if (!firstExtensions.containsKey(extension.getExtensionName())) {
+                firstExtensions.put(extension.getExtensionName(), properties);
+            }
+            lastExtensions.put(extension.getExtensionName(), properties);
+        }
+    }
+
+    /**
+     * Checks if the properties were read from the given descriptor
+     */
+    public boolean isReadFrom(ArquillianDescriptor descriptor) {
+        return this.descriptor == descriptor;
+    }
+
+    /**
+     * Returns the properties of the extension qualified by the given qualifier, or of the generic extension of the
+     * configuration if there is no qualified one. The returned map cannot be modified.
+     */
+    Map<String, String> get(String configurationName, Class<? extends Annotation> qualifier) {
+        ConcurrentMap<Class<? extends Annotation>, Map<String, String>> byQualifier = resolved.get(configurationName);
+        if (byQualifier == null) {
+            byQualifier = new ConcurrentHashMap<Class<? extends Annotation>, Map<String, String>>();
+            ConcurrentMap<Class<? extends Annotation>, Map<String, String>> existing =
+                resolved.putIfAbsent(configurationName, byQualifier);
+            if (existing != null) {
+                byQualifier = existing;
+            }
+        }
+
+        Map<String, String> properties = byQualifier.get(qualifier);
+        if (properties == null) {
+            properties = resolve(configurationName, qualifier.getSimpleName().toLowerCase());
+            byQualifier.putIfAbsent(qualifier, properties);
+        }
+        return properties;
+    }
+
+    private Map<String, String> resolve(String configurationName, String qualifierName) {
+        String fullName = new StringBuilder(configurationName).append("-").append(qualifierName).toString();
+
+        Map<String, String> properties = firstExtensions.get(fullName);
+        if (properties != null) {
+            log.log(Level.FINE, "Using <extension qualifier=\"{0}\"> for Drone Configuration", fullName);
+            return properties;
+        }
+
+        // found generic only
+        properties = lastExtensions.get(configurationName);
+        if (properties != null) {
+            log.log(Level.FINE, "Using <extension qualifier=\"{0}\"> for Drone Configuration", configurationName);
+            return properties;
+        }
+
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Removes the properties with null names, ARQ-1882
+     */
+    static Map<String, String> sanitize(Map<String, String> nameValuePairs) {
+        Map<String, String> sanitizedNameValuePairs = new HashMap<String, String>(nameValuePairs.size());
+        for (Map.Entry<String, String> entry : nameValuePairs.entrySet()) {
+            if (entry.getKey() != null) {
+                sanitizedNameValuePairs.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(sanitizedNameValuePairs);
+    }
+}
@@ -127,6 +127,49 @@ public class ConfigurationTestCase {
         Assert.assertNull("Map<String, String> was not created", configuration.getStringMap());
     }
 
+    @Test
+    public void repeatedMappingOfTheSameClass() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("int.field", "12345").property("stringField", "The descriptor string")
+            .property("booleanField", "true").property("foo", "bar");
+        ArquillianDescriptor otherDescriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("int.field", "54321").property("stringField", "The other string");
+
+        MockDroneConfiguration configuration = ConfigurationMapper.fromArquillianDescriptor(descriptor,
+            new MockDroneConfiguration(), Default.class);
+        MockDroneConfiguration otherConfiguration = ConfigurationMapper.fromArquillianDescriptor(otherDescriptor,
+            new MockDroneConfiguration(), Default.class);
+        MockDroneConfiguration sameConfiguration = ConfigurationMapper.fromArquillianDescriptor(descriptor,
+            new MockDroneConfiguration(), Default.class);
+
+        validateConfiguration(configuration, 12345, true, "The descriptor string");
+        validateConfiguration(otherConfiguration, 54321, false, "The other string");
+        validateConfiguration(sameConfiguration, 12345, true, "The descriptor string");
+
+        Assert.assertEquals("Map entry was mapped", "bar", configuration.getMapMap().get("foo"));
+        Assert.assertTrue("Map of other configuration is empty", otherConfiguration.getMapMap().isEmpty());
+        Assert.assertNotSame("Configurations do not share a map", configuration.getMapMap(),
+            sameConfiguration.getMapMap());
+    }
+
+    @Test
+    public void mapStaticField() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("typedmockdrone")
+            .property("staticField", "The static string");
+
+        ConfigurationMapper.fromArquillianDescriptor(descriptor, new TypedMockDroneConfiguration(), Default.class);
+
+        Assert.assertEquals("Static field was mapped", "The static string", TypedMockDroneConfiguration.staticField);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void invalidValueIsNotMapped() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("intField", "not a number");
+
+        ConfigurationMapper.fromArquillianDescriptor(descriptor, new MockDroneConfiguration(), Default.class);
+    }
+
     private void validateConfiguration(MockDroneConfiguration configuration, int expectedInt, boolean expectedBoolean,
         String expectedString) throws AssertionError {
         Assert.assertNotNull("Mock drone configuration was created in context", configuration);
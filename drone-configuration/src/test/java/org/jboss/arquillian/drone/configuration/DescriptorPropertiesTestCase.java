@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.configuration;
+
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the memoized descriptor properties configure drones the same way as the descriptor itself
+ */
+public class DescriptorPropertiesTestCase {
+
+    @Test
+    public void qualifiedPropertiesArePreferred() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("intField", "12345").property("stringField", "The descriptor string")
+            .extension("mockdrone-different").property("stringField", "The different property field");
+
+        DescriptorProperties properties = new DescriptorProperties(descriptor);
+
+        for (int i = 0; i < 2; i++) {
+            MockDroneConfiguration configuration = ConfigurationMapper.fromDescriptorProperties(properties,
+                new MockDroneConfiguration(), Default.class);
+            Assert.assertEquals(12345, configuration.getIntField());
+            Assert.assertEquals("The descriptor string", configuration.getStringField());
+
+            MockDroneConfiguration different = ConfigurationMapper.fromDescriptorProperties(properties,
+                new MockDroneConfiguration(), Different.class);
+            Assert.assertEquals(0, different.getIntField());
+            Assert.assertEquals("The different property field", different.getStringField());
+        }
+    }
+
+    @Test
+    public void propertiesKnowTheirDescriptor() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("stringField", "The descriptor string");
+        ArquillianDescriptor otherDescriptor = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("stringField", "The other string");
+
+        DescriptorProperties properties = new DescriptorProperties(descriptor);
+
+        Assert.assertTrue(properties.isReadFrom(descriptor));
+        Assert.assertFalse(properties.isReadFrom(otherDescriptor));
+    }
+}
@@ -32,6 +32,8 @@ public class TypedMockDroneConfiguration implements DroneConfiguration<TypedMock
 
     private Map<String, String> stringMap;
 
+    static String staticField;
+
     /*
      * (non-Javadoc)
      *
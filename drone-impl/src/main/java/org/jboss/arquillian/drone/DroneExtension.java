@@ -21,9 +21,14 @@ import org.jboss.arquillian.drone.impl.DroneConfigurator;
 import org.jboss.arquillian.drone.impl.DroneDestructor;
 import org.jboss.arquillian.drone.impl.DroneEnhancer;
 import org.jboss.arquillian.drone.impl.DroneLifecycleManager;
+import org.jboss.arquillian.drone.impl.DroneLookAheadInstantiator;
+import org.jboss.arquillian.drone.impl.DroneMetricsRecorder;
 import org.jboss.arquillian.drone.impl.DroneRegistrar;
 import org.jboss.arquillian.drone.impl.DroneTestEnrichBeforeClassObserver;
 import org.jboss.arquillian.drone.impl.DroneTestEnricher;
+import org.jboss.arquillian.drone.impl.DroneTimelineRecorder;
+import org.jboss.arquillian.drone.impl.LoggingDroneMetricsExporter;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetricsExporter;
 import org.jboss.arquillian.test.spi.TestEnricher;
 
 /**
@@ -34,12 +39,16 @@ public class DroneExtension implements LoadableExtension {
     @Override
     public void register(ExtensionBuilder builder) {
         builder.service(TestEnricher.class, DroneTestEnricher.class);
+        builder.service(DroneMetricsExporter.class, LoggingDroneMetricsExporter.class);
 
         builder.observer(DroneLifecycleManager.class);
         builder.observer(DroneRegistrar.class);
         builder.observer(DroneConfigurator.class);
         builder.observer(DroneEnhancer.class);
         builder.observer(DroneDestructor.class);
+        builder.observer(DroneLookAheadInstantiator.class);
         builder.observer(DroneTestEnrichBeforeClassObserver.class);
+        builder.observer(DroneMetricsRecorder.class);
+        builder.observer(DroneTimelineRecorder.class);
     }
 }
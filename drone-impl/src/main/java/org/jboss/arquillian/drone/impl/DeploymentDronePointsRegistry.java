@@ -8,7 +8,8 @@ import org.jboss.arquillian.drone.spi.DronePoint;
 
 /**
  * This registry keeps all {@link DronePoint}s with the {@link DronePoint.Lifecycle.DEPLOYMENT} scope and the reference
- * to the instance of the test class the DronePoint is declared in
+ * to the instance of the test class the DronePoint is declared in. The registry is shared by all the test classes, so it
+ * is synchronized.
  */
 public class DeploymentDronePointsRegistry {
 
@@ -29,7 +30,7 @@ public class DeploymentDronePointsRegistry {
      *
      * @return whether the addition was successful or not
      */
-    public boolean addDronePoint(DronePoint<?> deploymentDronePoint, Object testClass) {
+    public synchronized boolean addDronePoint(DronePoint<?> deploymentDronePoint, Object testClass) {
         if (deploymentDronePoint.getLifecycle() == DronePoint.Lifecycle.DEPLOYMENT) {
             deploymentDronePoints.put(deploymentDronePoint, testClass);
             return true;
@@ -45,7 +46,7 @@ public class DeploymentDronePointsRegistry {
      *
      * @return a map of DronePoints and testClasses tied to a deployment with the given deployment name
      */
-    public Map<DronePoint<?>, Object> filterDeploymentDronePoints(String deploymentName) {
+    public synchronized Map<DronePoint<?>, Object> filterDeploymentDronePoints(String deploymentName) {
         Map<DronePoint<?>, Object> matched = new HashMap<DronePoint<?>, Object>();
         for (DronePoint dronePoint : deploymentDronePoints.keySet()) {
             if (deploymentName.equals(getDeploymentName(dronePoint))) {
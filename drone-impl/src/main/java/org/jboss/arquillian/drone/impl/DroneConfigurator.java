@@ -23,10 +23,12 @@ import org.jboss.arquillian.core.api.Event;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
 import org.jboss.arquillian.drone.spi.Configurator;
 import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
 import org.jboss.arquillian.drone.spi.Instantiator;
 import org.jboss.arquillian.drone.spi.command.PrepareDrone;
@@ -72,6 +74,12 @@ public class DroneConfigurator {
     @Inject
     private Event<AfterDronePrepared> afterDronePreparedEvent;
 
+    @Inject
+    private Instance<DronePool> dronePool;
+
+    @Inject
+    private Instance<SpareDrones> spareDrones;
+
     public void prepareDrone(@Observes PrepareDrone command, DroneRegistry registry) {
         DronePoint<?> dronePoint = command.getDronePoint();
         prepare(dronePoint, registry);
@@ -81,6 +89,10 @@ public class DroneConfigurator {
         Validate.stateNotNull(droneContext.get(),
             "DroneContext should be available while working with method scoped instances");
 
+        if (leaseFromPool(dronePoint, registry) || takeSpareDrone(dronePoint, registry)) {
+            return;
+        }
+
         Configurator<DRONE, ?> droneConfigurator = getDroneConfigurator(registry, dronePoint);
         Instantiator callableInstantiator = getCallableInstantiator(registry, dronePoint);
 
@@ -116,6 +128,71 @@ public class DroneConfigurator {
         context.get(dronePoint).setFutureInstance(futureDrone);
     }
 
+    /**
+     * Reuses a pooled drone instance for a drone point with suite lifecycle, or with method lifecycle if the reuse of
+     * method scoped drones is enabled, if there is any available. The pool is keyed by the drone point, so the pooled
+     * instance was created with the same configuration. The preparation events are fired as if the drone point was
+     * prepared from scratch.
+     *
+     * @return {@code true} if the drone point was prepared using a pooled instance
+     */
+    private <DRONE> boolean leaseFromPool(DronePoint<DRONE> dronePoint, DroneRegistry registry) {
+        DronePool pool = dronePool.get();
+        if (pool == null || !DronePool.isPooled(dronePoint,
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class))) {
+            return false;
+        }
+
+        DronePointContext<DRONE> pointContext = droneContext.get().get(dronePoint);
+        if (pointContext.hasConfiguration() || pointContext.hasFutureInstance()) {
+            return false;
+        }
+
+        DronePool.PooledDrone<DRONE> pooledDrone = pool.lease(dronePoint);
+        if (pooledDrone == null) {
+            return false;
+        }
+
+        logger.log(Level.FINE, "Reusing pooled drone instance for injection point {0}", dronePoint);
+        beforeDronePreparedEvent.fire(new BeforeDronePrepared(
+            registry.getEntryFor(dronePoint.getDroneType(), Configurator.class),
+            registry.getEntryFor(dronePoint.getDroneType(), Instantiator.class), dronePoint));
+        pooledDrone.restoreInto(pointContext);
+        afterDronePreparedEvent.fire(new AfterDronePrepared(dronePoint));
+        return true;
+    }
+
+    /**
+     * Uses a spare drone started by the look-ahead instantiation for a drone point with method lifecycle, if there is
+     * any available. The preparation events are fired as if the drone point was prepared from scratch.
+     *
+     * @return {@code true} if the drone point was prepared using a spare drone
+     */
+    private <DRONE> boolean takeSpareDrone(DronePoint<DRONE> dronePoint, DroneRegistry registry) {
+        SpareDrones spares = spareDrones.get();
+        if (spares == null || dronePoint.getLifecycle() != DronePoint.Lifecycle.METHOD) {
+            return false;
+        }
+
+        DronePointContext<DRONE> pointContext = droneContext.get().get(dronePoint);
+        if (pointContext.hasConfiguration() || pointContext.hasFutureInstance()) {
+            return false;
+        }
+
+        SpareDrones.SpareDrone<DRONE> spareDrone = spares.take(dronePoint);
+        if (spareDrone == null) {
+            return false;
+        }
+
+        logger.log(Level.FINE, "Using spare drone instance for injection point {0}", dronePoint);
+        beforeDronePreparedEvent.fire(new BeforeDronePrepared(
+            registry.getEntryFor(dronePoint.getDroneType(), Configurator.class),
+            registry.getEntryFor(dronePoint.getDroneType(), Instantiator.class), dronePoint));
+        spareDrone.restoreInto(pointContext);
+        afterDronePreparedEvent.fire(new AfterDronePrepared(dronePoint));
+        return true;
+    }
+
     private <DRONE> Configurator<DRONE, ?> getDroneConfigurator(DroneRegistry registry, DronePoint<DRONE> dronePoint) {
         if (droneContext.get().get(dronePoint).hasConfiguration()) {
             logger.log(Level.WARNING, "Could not configure drone for injection point {0}, " +
@@ -16,10 +16,13 @@
  */
 package org.jboss.arquillian.drone.impl;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 import org.jboss.arquillian.core.api.Injector;
 import org.jboss.arquillian.core.api.Instance;
@@ -28,26 +31,45 @@ import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
 import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.DronePointFilter;
 import org.jboss.arquillian.drone.spi.FilterableResult;
+import org.jboss.arquillian.drone.spi.deployment.DeploymentNameKey;
+import org.jboss.arquillian.drone.spi.filter.DeploymentFilter;
+import org.jboss.arquillian.drone.spi.filter.LifecycleFilter;
 
 /**
- * Default implementation of {@link DroneContext}
+ * Default implementation of {@link DroneContext}. The context is thread safe, so the test classes can run concurrently
+ * in a single JVM.
  *
  * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
  */
 public class DroneContextImpl implements DroneContext {
     private static final Logger LOGGER = Logger.getLogger(DroneContextImpl.class.getName());
 
-    private final Map<DronePoint<?>, DronePointContext<?>> droneContextMap;
+    private final ConcurrentMap<DronePoint<?>, DronePointContext<?>> droneContextMap;
+
+    // secondary indexes, so the lifecycle and deployment filtering does not have to scan all the drone points
+    // the sets of an index are never removed, otherwise a drone point added concurrently to a set being removed got lost
+    private final Map<DronePoint.Lifecycle, Set<DronePoint<?>>> lifecycleIndex;
+    private final ConcurrentMap<Class<?>, Set<DronePoint<?>>> typeIndex;
+    private final ConcurrentMap<String, Set<DronePoint<?>>> deploymentIndex;
 
     @Inject
     private Instance<Injector> injector;
 
     @Deprecated
-    private DroneConfiguration<?> globalDroneConfiguration;
+    private volatile DroneConfiguration<?> globalDroneConfiguration;
 
     public DroneContextImpl() {
-        droneContextMap = new HashMap<DronePoint<?>, DronePointContext<?>>();
+        droneContextMap = new ConcurrentHashMap<DronePoint<?>, DronePointContext<?>>();
+        typeIndex = new ConcurrentHashMap<Class<?>, Set<DronePoint<?>>>();
+        deploymentIndex = new ConcurrentHashMap<String, Set<DronePoint<?>>>();
+
+        // the lifecycles are known up front, so the map itself is never modified after the construction
+        lifecycleIndex = new EnumMap<DronePoint.Lifecycle, Set<DronePoint<?>>>(DronePoint.Lifecycle.class);
+        for (DronePoint.Lifecycle lifecycle : DronePoint.Lifecycle.values()) {
+            lifecycleIndex.put(lifecycle, newIndexSet());
+        }
     }
 
     @Override
@@ -62,12 +84,20 @@ public class DroneContextImpl implements DroneContext {
 
     @Override
     public <DRONE> DronePointContext<DRONE> get(DronePoint<DRONE> dronePoint) {
-        if (!droneContextMap.containsKey(dronePoint)) {
-            DronePointContext pointContext = injector.get().inject(new DronePointContextImpl<DRONE>(dronePoint));
-            droneContextMap.put(dronePoint, pointContext);
+        DronePointContext<?> pointContext = droneContextMap.get(dronePoint);
+        if (pointContext == null) {
+            DronePointContext<?> created = injector.get().inject(new DronePointContextImpl<DRONE>(dronePoint, this));
+            pointContext = droneContextMap.putIfAbsent(dronePoint, created);
+            if (pointContext == null) {
+                pointContext = created;
+                if (dronePoint.getLifecycle() != null) {
+                    lifecycleIndex.get(dronePoint.getLifecycle()).add(dronePoint);
+                }
+                addToIndex(typeIndex, dronePoint.getDroneType(), dronePoint);
+            }
         }
 
-        return (DronePointContext<DRONE>) droneContextMap.get(dronePoint);
+        return (DronePointContext<DRONE>) pointContext;
     }
 
     @Override
@@ -78,25 +108,106 @@ public class DroneContextImpl implements DroneContext {
     @Override
     public <DRONE> void remove(DronePoint<DRONE> dronePoint) {
         // FIXME should we return the removed context?
-        droneContextMap.remove(dronePoint);
+        DronePointContext<?> pointContext = droneContextMap.remove(dronePoint);
+        if (pointContext != null) {
+            removeFromIndex(lifecycleIndex, dronePoint.getLifecycle(), dronePoint);
+            removeFromIndex(typeIndex, dronePoint.getDroneType(), dronePoint);
+            removeFromIndex(deploymentIndex, pointContext.getMetadata(DeploymentNameKey.class), dronePoint);
+        }
     }
 
     @Override
     public <DRONE> FilterableResult<DRONE> find(final Class<DRONE> droneClass) {
+        // The matching drone points are collected lazily, filtering by an indexed filter does not need them at all
+        return new FilterableResultImpl<DRONE>(this, droneClass);
+    }
+
+    <DRONE> Set<DronePoint<DRONE>> findAll(Class<DRONE> droneClass) {
         Set<DronePoint<DRONE>> matchedDronePoints = new HashSet<DronePoint<DRONE>>();
 
-        // We need to drop the generic type in order to be able to call 'accepts' on filters with <? super T>
-        for (DronePoint<?> dronePoint : droneContextMap.keySet()) {
-            if (!dronePoint.conformsTo(droneClass)) {
+        for (Map.Entry<Class<?>, Set<DronePoint<?>>> entry : typeIndex.entrySet()) {
+            if (droneClass != null && !droneClass.isAssignableFrom(entry.getKey())) {
                 continue;
             }
+            for (DronePoint<?> dronePoint : entry.getValue()) {
+                @SuppressWarnings("unchecked")
+                DronePoint<DRONE> castDronePoint = (DronePoint<DRONE>) dronePoint;
+
+                matchedDronePoints.add(castDronePoint);
+            }
+        }
+
+        return matchedDronePoints;
+    }
+
+    /**
+     * Returns all registered drone points accepted by given filter, or null if the filter cannot be answered from the
+     * indexes. The returned set must not be modified.
+     */
+    Set<DronePoint<?>> findIndexed(DronePointFilter<?> filter) {
+        // subclasses might override the accepts method, so only the exact classes are answered from the indexes
+        if (filter.getClass() == LifecycleFilter.class) {
+            Set<DronePoint.Lifecycle> lifecycles = ((LifecycleFilter) filter).getLifecycles();
+            if (lifecycles.size() == 1) {
+                return indexed(lifecycleIndex, lifecycles.iterator().next());
+            }
+            Set<DronePoint<?>> dronePoints = new HashSet<DronePoint<?>>();
+            for (DronePoint.Lifecycle lifecycle : lifecycles) {
+                dronePoints.addAll(indexed(lifecycleIndex, lifecycle));
+            }
+            return dronePoints;
+        } else if (filter.getClass() == DeploymentFilter.class) {
+            Set<DronePoint<?>> dronePoints = new HashSet<DronePoint<?>>();
+            for (Map.Entry<String, Set<DronePoint<?>>> entry : deploymentIndex.entrySet()) {
+                if (((DeploymentFilter) filter).matches(entry.getKey())) {
+                    dronePoints.addAll(entry.getValue());
+                }
+            }
+            return dronePoints;
+        }
+        return null;
+    }
+
+    void deploymentChanged(DronePointContext<?> pointContext, String previous, String deployment) {
+        DronePoint<?> dronePoint = pointContext.getDronePoint();
+        if (droneContextMap.get(dronePoint) != pointContext) {
+            return;
+        }
+        removeFromIndex(deploymentIndex, previous, dronePoint);
+        addToIndex(deploymentIndex, deployment, dronePoint);
+    }
+
+    private static <K> Set<DronePoint<?>> indexed(Map<K, Set<DronePoint<?>>> index, K key) {
+        Set<DronePoint<?>> dronePoints = index.get(key);
+        return dronePoints != null ? dronePoints : Collections.<DronePoint<?>>emptySet();
+    }
 
-            @SuppressWarnings("unchecked")
-            DronePoint<DRONE> castDronePoint = (DronePoint<DRONE>) dronePoint;
+    private static Set<DronePoint<?>> newIndexSet() {
+        return Collections.newSetFromMap(new ConcurrentHashMap<DronePoint<?>, Boolean>());
+    }
 
-            matchedDronePoints.add(castDronePoint);
+    private static <K> void addToIndex(ConcurrentMap<K, Set<DronePoint<?>>> index, K key, DronePoint<?> dronePoint) {
+        if (key == null) {
+            return;
+        }
+        Set<DronePoint<?>> dronePoints = index.get(key);
+        if (dronePoints == null) {
+            dronePoints = newIndexSet();
+            Set<DronePoint<?>> existing = index.putIfAbsent(key, dronePoints);
+            if (existing != null) {
+                dronePoints = existing;
+            }
         }
+        dronePoints.add(dronePoint);
+    }
 
-        return new FilterableResultImpl<DRONE>(this, matchedDronePoints);
+    private static <K> void removeFromIndex(Map<K, Set<DronePoint<?>>> index, K key, DronePoint<?> dronePoint) {
+        if (key == null) {
+            return;
+        }
+        Set<DronePoint<?>> dronePoints = index.get(key);
+        if (dronePoints != null) {
+            dronePoints.remove(dronePoint);
+        }
     }
 }
@@ -16,36 +16,60 @@
  */
 package org.jboss.arquillian.drone.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jboss.arquillian.core.api.Event;
 import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
 import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
 import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
 import org.jboss.arquillian.drone.spi.command.DestroyDrone;
+import org.jboss.arquillian.drone.spi.command.DestroyDrones;
 import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneReleased;
 import org.jboss.arquillian.drone.spi.event.BeforeDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneReleased;
 import org.jboss.arquillian.drone.spi.event.DroneLifecycleEvent;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
 import org.jboss.arquillian.test.spi.event.suite.After;
 import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
 
 /**
- * Destructor of Drone instance. Disposes both class scoped Drones as well as method scoped ones.
+ * Destructor of Drone instance. Disposes both class scoped Drones as well as method scoped ones. Suite scoped Drones,
+ * and method scoped ones if their reuse is enabled, are released into the {@link DronePool} and disposed at the end of
+ * the suite. If the asynchronous destruction is
+ * enabled, drones are disposed in the background by the {@link DroneReaper}. {@link AfterDroneDestroyed} then means
+ * the destruction was scheduled, the drone is removed from the {@link DroneContext} but its destructor might still
+ * be running.
  * <p/>
  * <p>
  * Observes:
  * </p>
- * {@link AfterClass} {@link After}
+ * {@link AfterClass} {@link After} {@link AfterSuite}
  * <p/>
  * <p>
  * Fires:
  * </p>
- * {@link BeforeDroneDestroyed} {@link AfterDroneDestroyed}
+ * {@link BeforeDroneDestroyed} {@link AfterDroneDestroyed} {@link BeforeDroneReleased} {@link AfterDroneReleased}
  *
  * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
  */
@@ -67,6 +91,22 @@ public class DroneDestructor {
     @Inject
     private Instance<DroneContext> droneContext;
 
+    @Inject
+    private Instance<DronePool> dronePool;
+
+    @Inject
+    private Instance<DroneExecutor> droneExecutor;
+
+    @Inject
+    private Instance<ExecutorService> executorService;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DroneReaper> droneReaper;
+
+    // drones whose destruction did not finish within the destruction timeout, they are reported at the end of the suite
+    private final List<Destruction> timedOutDestructions = new CopyOnWriteArrayList<Destruction>();
+
     public void destroyDrone(@Observes DestroyDrone command) {
         DroneContext context = droneContext.get();
         DronePoint<?> dronePoint = command.getDronePoint();
@@ -75,6 +115,247 @@ public class DroneDestructor {
             return;
         }
 
+        if (isPooled(dronePoint) && releaseDrone(dronePoint)) {
+            context.remove(dronePoint);
+            return;
+        }
+
+        destroy(dronePoint);
+    }
+
+    public void destroyDrones(@Observes DestroyDrones command) {
+        DroneContext context = droneContext.get();
+        List<DronePoint<?>> dronePoints = new ArrayList<DronePoint<?>>();
+        for (DronePoint<?> dronePoint : command.getDronePoints()) {
+            if (dronePoint == null || !context.contains(dronePoint)) {
+                continue;
+            }
+            if (isPooled(dronePoint) && releaseDrone(dronePoint)) {
+                context.remove(dronePoint);
+                continue;
+            }
+            dronePoints.add(dronePoint);
+        }
+
+        destroyConcurrently(dronePoints);
+    }
+
+    /**
+     * Destroys drones with suite lifecycle which are left in the pool. This has to happen before the rest of the
+     * environment, e.g. Selenium Server, is shut down.
+     */
+    public void destroyPooledDrones(@Observes(precedence = 100) AfterSuite event) {
+        DronePool pool = dronePool.get();
+        if (pool == null) {
+            return;
+        }
+
+        DroneContext context = droneContext.get();
+        List<DronePoint<?>> dronePoints = new ArrayList<DronePoint<?>>();
+        for (DronePool.PooledDrone<?> pooledDrone : pool.drain()) {
+            dronePoints.add(restore(context, pooledDrone));
+        }
+
+        GlobalDroneConfiguration configuration = context.getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration != null && configuration.isParallelDestruction()) {
+            destroyConcurrently(dronePoints);
+        } else {
+            for (DronePoint<?> dronePoint : dronePoints) {
+                destroy(dronePoint);
+            }
+        }
+    }
+
+    /**
+     * Waits for drones being destroyed in the background. This has to happen before the rest of the environment, e.g.
+     * Selenium Server, is shut down, but after the pooled drones were handed over for destruction.
+     */
+    public void destroyPendingDrones(@Observes(precedence = 90) AfterSuite event) {
+        DroneReaper reaper = droneReaper.get();
+        if (reaper == null) {
+            return;
+        }
+
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        reaper.drain(configuration != null ? configuration.getDestructionTimeoutInSeconds() : 0);
+    }
+
+    private boolean isPooled(DronePoint<?> dronePoint) {
+        return DronePool.isPooled(dronePoint,
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class));
+    }
+
+    private DroneReaper getReaper() {
+        DroneReaper reaper = droneReaper.get();
+        if (reaper == null) {
+            GlobalDroneConfiguration configuration =
+                droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+            if (configuration == null || !configuration.isAsynchronousDestruction()) {
+                return null;
+            }
+            reaper = new DroneReaper(configuration.getMaxPendingDestructions(), executorService.get());
+            droneReaper.set(reaper);
+        }
+        return reaper;
+    }
+
+    private <DRONE> DronePoint<DRONE> restore(DroneContext context, DronePool.PooledDrone<DRONE> pooledDrone) {
+        DronePoint<DRONE> dronePoint = pooledDrone.getDronePoint();
+        pooledDrone.restoreInto(context.get(dronePoint));
+        return dronePoint;
+    }
+
+    /**
+     * Destroys independent drones concurrently. The events are fired on the calling thread, only the destructors are
+     * invoked in parallel. Destructors which do not finish until the destruction timeout are interrupted; as browsers
+     * usually ignore the interruption, such drones are not considered destroyed until their destructors finish, see
+     * {@link #reportTimedOutDestructions(AfterSuite)}. The browser processes are never killed, the {@link Destructor}
+     * SPI has no handle on them, the stragglers are only logged. {@link AfterDroneDestroyed} is fired only for drones
+     * whose destructor returned normally; drones whose destructor failed are kept in the context and the failure is
+     * propagated, the same way as by the serial destruction.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void destroyConcurrently(List<DronePoint<?>> dronePoints) {
+        // the asynchronous destruction does not block the calling thread at all
+        if (dronePoints.size() < 2 || getReaper() != null) {
+            for (DronePoint<?> dronePoint : dronePoints) {
+                destroy(dronePoint);
+            }
+            return;
+        }
+
+        DroneContext context = droneContext.get();
+        List<Destruction> destructions = new ArrayList<Destruction>();
+        RuntimeException failure = null;
+        boolean submitted = false;
+        try {
+            for (DronePoint<?> dronePoint : dronePoints) {
+                if (!context.get(dronePoint).isInstantiated()) {
+                    context.remove(dronePoint);
+                    continue;
+                }
+                Destructor destructor = getDestructorFor(dronePoint.getDroneType());
+
+                droneLifecycleEvent.fire(new BeforeDroneDestroyed(dronePoint));
+
+                // we need to get drone once again, at it might get modified by observers on previous event
+                Object drone = context.get(dronePoint).getInstance();
+
+                Destruction destruction = new Destruction(dronePoint, destructor, drone);
+                destruction.future = droneExecutor.get().submit(destruction);
+                destructions.add(destruction);
+            }
+            submitted = true;
+        } finally {
+            // the destructions already running have to be finished even if one of the drones could not be destroyed
+            failure = awaitDestructions(destructions);
+
+            for (Destruction destruction : destructions) {
+                if (destruction.isDestroyed()) {
+                    droneLifecycleEvent.fire(new AfterDroneDestroyed(destruction.dronePoint));
+                    context.remove(destruction.dronePoint);
+                } else if (destruction.timedOut) {
+                    if (destruction.isFinished()) {
+                        logFailedDestruction(destruction);
+                    } else {
+                        timedOutDestructions.add(destruction);
+                    }
+                    context.remove(destruction.dronePoint);
+                }
+                // otherwise the destructor failed, its failure is propagated below
+            }
+
+            // the failure of the submission propagates, the one of the destruction would be lost otherwise
+            if (!submitted && failure != null) {
+                log.log(Level.WARNING, "Unable to destroy drone, reason: {0}", failure);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits for the destructions which did not finish within the destruction timeout once more. Drones destroyed in
+     * the meantime are reported as destroyed, the rest is logged as their browsers might still be running.
+     */
+    public void reportTimedOutDestructions(@Observes(precedence = 80) AfterSuite event) {
+        if (timedOutDestructions.isEmpty()) {
+            return;
+        }
+
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        int timeout = configuration != null ? configuration.getDestructionTimeoutInSeconds() : 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+        for (Destruction destruction : timedOutDestructions) {
+            long remaining = timeout > 0 ? Math.max(0, deadline - System.nanoTime()) : Long.MAX_VALUE;
+            if (!destruction.awaitFinished(remaining)) {
+                log.log(Level.WARNING, "Drone {0} was not destroyed until the end of the suite, the last {1} ms of the "
+                        + "destruction timeout passed waiting for it. Drone does not kill browsers, it might be still "
+                        + "running and has to be killed manually",
+                    new Object[] {destruction.dronePoint, TimeUnit.NANOSECONDS.toMillis(remaining)});
+            } else if (destruction.isDestroyed()) {
+                droneLifecycleEvent.fire(new AfterDroneDestroyed(destruction.dronePoint));
+            } else {
+                logFailedDestruction(destruction);
+            }
+        }
+        timedOutDestructions.clear();
+    }
+
+    private void logFailedDestruction(Destruction destruction) {
+        log.log(Level.WARNING, "Interrupted destruction of drone {0} failed, its browser might be still running and has "
+            + "to be killed manually. Reason: {1}", new Object[] {destruction.dronePoint, destruction.failure});
+    }
+
+    private RuntimeException awaitDestructions(List<Destruction> destructions) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        int timeout = configuration != null ? configuration.getDestructionTimeoutInSeconds() : 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+        RuntimeException failure = null;
+        for (Destruction destruction : destructions) {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            try {
+                if (timeout > 0) {
+                    destruction.future.get(remaining, TimeUnit.NANOSECONDS);
+                } else {
+                    destruction.future.get();
+                }
+            } catch (TimeoutException e) {
+                destruction.timedOut = true;
+                destruction.future.cancel(true);
+                log.log(Level.WARNING, "Drone {0} was not destroyed within the destruction timeout of {1} seconds, {2} ms "
+                        + "of which were left when waiting for it started. Its destruction was interrupted, its browser is "
+                        + "not killed and might be still running",
+                    new Object[] {destruction.dronePoint, timeout, TimeUnit.NANOSECONDS.toMillis(remaining)});
+            } catch (InterruptedException e) {
+                destruction.timedOut = true;
+                destruction.future.cancel(true);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (failure == null) {
+                    failure = cause instanceof RuntimeException ? (RuntimeException) cause
+                        : new RuntimeException("Unable to destroy drone " + destruction.dronePoint, cause);
+                } else {
+                    log.log(Level.WARNING, "Unable to destroy drone {0}, reason: {1}",
+                        new Object[] {destruction.dronePoint, cause});
+                }
+            }
+        }
+        return failure;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void destroy(DronePoint<?> dronePoint) {
+        DroneContext context = droneContext.get();
+
         boolean wasInstantiated = context.get(dronePoint).isInstantiated();
         if (wasInstantiated) {
             Destructor destructor = getDestructorFor(dronePoint.getDroneType());
@@ -84,7 +365,13 @@ public class DroneDestructor {
             // we need to get drone once again, at it might get modified by observers on previous event
             Object drone = context.get(dronePoint).getInstance();
 
-            destructor.destroyInstance(drone);
+            DroneReaper reaper = getReaper();
+            if (reaper != null) {
+                // AfterDroneDestroyed is fired once the destruction is scheduled
+                reaper.destroy((DronePoint) dronePoint, destructor, drone);
+            } else {
+                destructor.destroyInstance(drone);
+            }
         }
 
         if (wasInstantiated) {
@@ -94,6 +381,35 @@ public class DroneDestructor {
         context.remove(dronePoint);
     }
 
+    /**
+     * Releases an instantiated drone into the pool instead of destroying it. Observers of {@link BeforeDroneReleased}
+     * are responsible for resetting the state of the drone. If the reset fails, the drone is not released.
+     *
+     * @return {@code true} if the drone was released into the pool
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <DRONE> boolean releaseDrone(DronePoint<DRONE> dronePoint) {
+        DronePool pool = dronePool.get();
+        DronePointContext<DRONE> pointContext = droneContext.get().get(dronePoint);
+        if (pool == null || !pointContext.isInstantiated()) {
+            return false;
+        }
+
+        try {
+            droneLifecycleEvent.fire(new BeforeDroneReleased(dronePoint));
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Unable to reset drone {0}, it will be destroyed instead of being reused. Reason: {1}",
+                new Object[] {dronePoint, e.getMessage()});
+            return false;
+        }
+
+        DroneConfiguration configuration = pointContext.getConfigurationAs(DroneConfiguration.class);
+        pool.release(dronePoint, configuration, pointContext.getInstance());
+
+        droneLifecycleEvent.fire(new AfterDroneReleased(dronePoint));
+        return true;
+    }
+
     @SuppressWarnings("rawtypes")
     private Destructor getDestructorFor(Class<?> typeClass) {
         // must be defined as raw because instance type to be destroyer cannot
@@ -108,4 +424,61 @@ public class DroneDestructor {
 
         return destructor;
     }
+
+    /**
+     * Destruction of a drone run by the drone executor. It is finished once the destructor returns or throws, even if
+     * this happens after its timeout expired, the drone is destroyed only if the destructor returned normally.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class Destruction implements Callable<Void> {
+        private final DronePoint<?> dronePoint;
+        private final Destructor destructor;
+        private final Object drone;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private Future<Void> future;
+        // set by the thread waiting for the destruction
+        private boolean timedOut;
+        private volatile boolean destroyed;
+        private volatile Throwable failure;
+
+        Destruction(DronePoint<?> dronePoint, Destructor destructor, Object drone) {
+            this.dronePoint = dronePoint;
+            this.destructor = destructor;
+            this.drone = drone;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            try {
+                destructor.destroyInstance(drone);
+                destroyed = true;
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } catch (Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                finished.countDown();
+            }
+            return null;
+        }
+
+        boolean isDestroyed() {
+            return destroyed;
+        }
+
+        boolean isFinished() {
+            return finished.getCount() == 0;
+        }
+
+        boolean awaitFinished(long timeoutInNanos) {
+            try {
+                return finished.await(Math.max(0, timeoutInNanos), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return isFinished();
+            }
+        }
+    }
 }
@@ -27,7 +27,6 @@ import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.spi.ServiceLoader;
-import org.jboss.arquillian.drone.spi.CachingCallable;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DroneInstanceEnhancer;
 import org.jboss.arquillian.drone.spi.DronePoint;
@@ -68,13 +67,13 @@ public class DroneEnhancer {
     @Inject
     private Event<DroneEnhancementEvent> droneEnhancementEvent;
 
+    // enhancers are loaded and sorted only once per service loader
+    private EnhancerChain enhancerChain;
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     public <T> void enhanceDrone(@Observes AfterDroneInstantiated event, DroneContext context) {
 
-        List<DroneInstanceEnhancer> enhancers = new ArrayList<DroneInstanceEnhancer>(serviceLoader.get().all(
-            DroneInstanceEnhancer.class));
-
-        Collections.sort(enhancers, PrecedenceComparator.getInstance());
+        List<DroneInstanceEnhancer> enhancers = getEnhancerChain().enhancers;
 
         DronePoint<T> dronePoint = (DronePoint<T>) event.getDronePoint();
         T drone = context.get(dronePoint).getInstance();
@@ -106,11 +105,8 @@ public class DroneEnhancer {
     @SuppressWarnings({"rawtypes", "unchecked"})
     public <T> void deenhanceDrone(@Observes BeforeDroneDestroyed event, DroneContext context) {
 
-        List<DroneInstanceEnhancer> enhancers = new ArrayList<DroneInstanceEnhancer>(serviceLoader.get().all(
-            DroneInstanceEnhancer.class));
-
         // here we are deenhancing in reversed order
-        Collections.sort(enhancers, PrecedenceComparator.getReversedOrder());
+        List<DroneInstanceEnhancer> enhancers = getEnhancerChain().reversedEnhancers;
 
         DronePoint<T> dronePoint = (DronePoint<T>) event.getDronePoint();
         T drone = context.get(dronePoint).getInstance();
@@ -139,22 +135,36 @@ public class DroneEnhancer {
         }
     }
 
-    private class ConstantValueCachingCallable<V> implements CachingCallable<V> {
+    /**
+     * Returns enhancers sorted by their precedence. Whether an enhancer can enhance a drone depends on the drone
+     * instance, so the chain is the same for all drones and {@code canEnhance} is still evaluated for each of them.
+     */
+    private synchronized EnhancerChain getEnhancerChain() {
+        ServiceLoader loader = serviceLoader.get();
+        if (enhancerChain == null || enhancerChain.loader != loader) {
+            enhancerChain = new EnhancerChain(loader);
+        }
+        return enhancerChain;
+    }
 
-        private final V value;
+    @SuppressWarnings("rawtypes")
+    private static class EnhancerChain {
 
-        ConstantValueCachingCallable(V value) {
-            this.value = value;
-        }
+        private final ServiceLoader loader;
+        private final List<DroneInstanceEnhancer> enhancers;
+        private final List<DroneInstanceEnhancer> reversedEnhancers;
 
-        @Override
-        public boolean isValueCached() {
-            return true;
-        }
+        EnhancerChain(ServiceLoader loader) {
+            this.loader = loader;
 
-        @Override
-        public V call() throws Exception {
-            return value;
+            List<DroneInstanceEnhancer> sorted =
+                new ArrayList<DroneInstanceEnhancer>(loader.all(DroneInstanceEnhancer.class));
+            Collections.sort(sorted, PrecedenceComparator.getInstance());
+            this.enhancers = Collections.unmodifiableList(sorted);
+
+            List<DroneInstanceEnhancer> reversed = new ArrayList<DroneInstanceEnhancer>(sorted);
+            Collections.sort(reversed, PrecedenceComparator.getReversedOrder());
+            this.reversedEnhancers = Collections.unmodifiableList(reversed);
         }
     }
 
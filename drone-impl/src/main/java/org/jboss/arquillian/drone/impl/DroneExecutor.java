@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.threading.ContextSnapshot;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+
+/**
+ * Executor instantiating and destroying drones in the background. Starting a browser is mostly waiting for the driver
+ * process or the grid, so the executor can be selected by the {@code executor} property of the global configuration:
+ * <ul>
+ * <li>{@value #ARQUILLIAN} - the executor of Arquillian core is used, which is the default</li>
+ * <li>{@value #AUTO} - {@value #VIRTUAL} if the JDK provides virtual threads, {@value #PLATFORM} otherwise</li>
+ * <li>{@value #PLATFORM} - a pool of at most {@code executorPoolSize} platform threads is used, at most
+ * {@code executorPoolSize} tasks wait for a thread and the others are handed over to the executor of Arquillian
+ * core, so they still run in the background and the instantiation timeout applies to them</li>
+ * <li>{@value #VIRTUAL} - a new virtual thread is started for every task, on JDKs without virtual threads it falls
+ * back to the platform pool</li>
+ * </ul>
+ * Tasks submitted to Drone's own executors run with the Arquillian contexts of the submitting thread active, the same
+ * way as tasks submitted to the executor of Arquillian core. Once the executor was shut down, no more tasks are
+ * accepted.
+ */
+public class DroneExecutor {
+    public static final String AUTO = "auto";
+    public static final String ARQUILLIAN = "arquillian";
+    public static final String PLATFORM = "platform";
+    public static final String VIRTUAL = "virtual";
+
+    private static final Logger log = Logger.getLogger(DroneExecutor.class.getName());
+
+    private final ExecutorService arquillianExecutor;
+    // null if the tasks are delegated to the executor of Arquillian core
+    private final java.util.concurrent.ExecutorService executor;
+    private volatile boolean shutdown;
+
+    DroneExecutor(ExecutorService arquillianExecutor, java.util.concurrent.ExecutorService executor) {
+        this.arquillianExecutor = arquillianExecutor;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an executor selected by the given configuration
+     *
+     * @param configuration
+     *     the global configuration, might be {@code null}
+     * @param arquillianExecutor
+     *     the executor of Arquillian core, used to capture Arquillian contexts
+     */
+    static DroneExecutor create(GlobalDroneConfiguration configuration, ExecutorService arquillianExecutor) {
+        String type = configuration != null ? configuration.getExecutor() : ARQUILLIAN;
+        int poolSize = configuration != null ? configuration.getExecutorPoolSize()
+            : GlobalDroneConfiguration.DEFAULT_EXECUTOR_POOL_SIZE;
+
+        if (AUTO.equalsIgnoreCase(type)) {
+            java.util.concurrent.ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+            return new DroneExecutor(arquillianExecutor,
+                virtualExecutor != null ? virtualExecutor : newPlatformThreadPool(poolSize));
+        } else if (PLATFORM.equalsIgnoreCase(type)) {
+            return new DroneExecutor(arquillianExecutor, newPlatformThreadPool(poolSize));
+        } else if (VIRTUAL.equalsIgnoreCase(type)) {
+            java.util.concurrent.ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualExecutor != null) {
+                return new DroneExecutor(arquillianExecutor, virtualExecutor);
+            }
+            log.log(Level.INFO, "Virtual threads are not available on Java {0}, drones will be started by a pool of "
+                + "{1} threads", new Object[] {SecurityActions.getProperty("java.version"), poolSize});
+            return new DroneExecutor(arquillianExecutor, newPlatformThreadPool(poolSize));
+        } else if (!ARQUILLIAN.equalsIgnoreCase(type)) {
+            log.log(Level.WARNING, "Unknown Drone executor \"{0}\", expected one of {1}, {2}, {3} or {4}. Using {1}.",
+                new Object[] {type, ARQUILLIAN, AUTO, PLATFORM, VIRTUAL});
+        }
+
+        return new DroneExecutor(arquillianExecutor, null);
+    }
+
+    /**
+     * Submits the given task
+     *
+     * @throws RejectedExecutionException
+     *     if the executor was already shut down
+     */
+    public <T> Future<T> submit(final Callable<T> callable) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Drone executor was already shut down, no more drones can be "
+                + "instantiated or destroyed by it");
+        }
+        if (executor == null) {
+            return arquillianExecutor.submit(callable);
+        }
+
+        final ContextSnapshot snapshot = arquillianExecutor.createSnapshotContext();
+        try {
+            return executor.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    snapshot.activate();
+                    try {
+                        return callable.call();
+                    } finally {
+                        snapshot.deactivate();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (executor.isShutdown()) {
+                throw e;
+            }
+            // the queue is full, the executor of Arquillian core still runs the task in the background
+            return arquillianExecutor.submit(callable);
+        }
+    }
+
+    /**
+     * Stops accepting new tasks, the running tasks are not interrupted. The executor of Arquillian core is not affected,
+     * but no more tasks are delegated to it.
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static java.util.concurrent.ExecutorService newVirtualThreadPerTaskExecutor() {
+        // JDK 21+ API, looked up reflectively so Drone still runs on Java 8
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (java.util.concurrent.ExecutorService) factory.invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static java.util.concurrent.ExecutorService newPlatformThreadPool(int poolSize) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(Math.max(1, poolSize)), new DroneThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static class DroneThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "drone-executor-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.drone.spi.metrics.DroneLatencyHistogram;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+
+/**
+ * Histogram with logarithmic buckets, each power of two is split into four linear sub-buckets, so the relative error
+ * of an estimated percentile is at most 25 %. Values are recorded in nanoseconds.
+ */
+class DroneLatencyHistogramImpl implements DroneLatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private static final int BUCKETS = 62 * SUB_BUCKETS;
+
+    private final DronePhase phase;
+    private final Class<?> droneType;
+    private final Class<? extends Annotation> qualifier;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    DroneLatencyHistogramImpl(DronePhase phase, Class<?> droneType, Class<? extends Annotation> qualifier) {
+        this.phase = phase;
+        this.droneType = droneType;
+        this.qualifier = qualifier;
+    }
+
+    synchronized void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[bucketOf(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    @Override
+    public DronePhase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public Class<?> getDroneType() {
+        return droneType;
+    }
+
+    @Override
+    public Class<? extends Annotation> getQualifier() {
+        return qualifier;
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized long getTotal(TimeUnit unit) {
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getMin(TimeUnit unit) {
+        return count == 0 ? 0 : unit.convert(min, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getMax(TimeUnit unit) {
+        return unit.convert(max, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getMean(TimeUnit unit) {
+        return count == 0 ? 0 : unit.convert(total / count, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized long getPercentile(double percentile, TimeUnit unit) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 100.0) / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(rank, 1)) {
+                long value = Math.min(Math.max(upperBoundOf(i), min), max);
+                return unit.convert(value, TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(max, TimeUnit.NANOSECONDS);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return (exponent - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        long width = 1L << (exponent - 2);
+        long lowerBound = (SUB_BUCKETS + bucket % SUB_BUCKETS) * width;
+        return lowerBound + width - 1;
+    }
+}
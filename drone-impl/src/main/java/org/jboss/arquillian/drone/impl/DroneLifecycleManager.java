@@ -17,6 +17,8 @@
 package org.jboss.arquillian.drone.impl;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -33,21 +35,27 @@ import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.api.event.ManagerStarted;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
 import org.jboss.arquillian.drone.api.annotation.Default;
 import org.jboss.arquillian.drone.configuration.ConfigurationMapper;
+import org.jboss.arquillian.drone.configuration.DescriptorProperties;
 import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
 import org.jboss.arquillian.drone.spi.FilterableResult;
 import org.jboss.arquillian.drone.spi.command.DestroyDrone;
+import org.jboss.arquillian.drone.spi.command.DestroyDrones;
 import org.jboss.arquillian.drone.spi.command.PrepareDrone;
 import org.jboss.arquillian.drone.spi.event.AfterDroneExtensionConfigured;
 import org.jboss.arquillian.drone.spi.event.BeforeDroneExtensionConfigured;
 import org.jboss.arquillian.drone.spi.filter.DeploymentFilter;
 import org.jboss.arquillian.drone.spi.filter.LifecycleFilter;
 import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
 import org.jboss.arquillian.test.spi.event.suite.After;
 import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
 import org.jboss.arquillian.test.spi.event.suite.Before;
 import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
 import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
@@ -69,6 +77,21 @@ public class DroneLifecycleManager {
     @ApplicationScoped
     private InstanceProducer<DeploymentDronePointsRegistry> deploymentDronePointsRegistry;
 
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DronePool> dronePool;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DroneExecutor> droneExecutor;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DescriptorProperties> descriptorProperties;
+
+    @Inject
+    private Instance<ExecutorService> executorService;
+
     @Inject
     private Event<BeforeDroneExtensionConfigured> beforeDroneExtensionConfiguredEvent;
 
@@ -81,6 +104,9 @@ public class DroneLifecycleManager {
     @Inject
     private Event<DestroyDrone> destroyDroneCommand;
 
+    @Inject
+    private Event<DestroyDrones> destroyDronesCommand;
+
     @Inject
     private Instance<TestClass> testClassInstance;
 
@@ -97,9 +123,23 @@ public class DroneLifecycleManager {
         }
     }
 
+    /**
+     * Reads the properties of the descriptor once, so the drones of the suite are configured without parsing it again
+     */
+    public void readDescriptorProperties(@Observes(precedence = 100) BeforeSuite event) {
+        ArquillianDescriptor descriptor = arquillianDescriptor.get();
+        if (descriptor != null) {
+            descriptorProperties.set(new DescriptorProperties(descriptor));
+        }
+    }
+
     public void configureDroneExtension(@Observes BeforeSuite event) {
         DroneContext context = droneContext.get();
 
+        if (dronePool.get() == null) {
+            dronePool.set(new DronePool());
+        }
+
         if (context.getGlobalDroneConfiguration(DroneConfiguration.class) != null) {
             return;
         }
@@ -115,6 +155,27 @@ public class DroneLifecycleManager {
         afterDroneExtensionConfiguredEvent.fire(new AfterDroneExtensionConfigured());
     }
 
+    /**
+     * Creates the executor drones are instantiated by, once the global configuration is known
+     */
+    public void createDroneExecutor(@Observes(precedence = -5) BeforeSuite event) {
+        if (droneExecutor.get() == null) {
+            droneExecutor.set(DroneExecutor.create(
+                droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class),
+                executorService.get()));
+        }
+    }
+
+    /**
+     * Shuts the executor down once all the drones were destroyed
+     */
+    public void shutdownDroneExecutor(@Observes(precedence = -1000) AfterSuite event) {
+        DroneExecutor executor = droneExecutor.get();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     @SuppressWarnings("unused")
     public void beforeClass(@Observes(precedence = CLASS_SCAN_PRECEDENCE) BeforeClass event) {
         Class<?> testClass = event.getTestClass().getJavaClass();
@@ -133,6 +194,7 @@ public class DroneLifecycleManager {
             }
 
             createDroneConfigurationCommand.fire(new PrepareDrone(dronePoint));
+            startEagerInstantiation(dronePoint);
         }
     }
 
@@ -144,7 +206,8 @@ public class DroneLifecycleManager {
     }
 
     public void before(@Observes Before event) {
-        DronePoint<?>[] dronePoints = InjectionPoints.parametersInMethod(droneContext.get(), event.getTestMethod());
+        DronePoint<?>[] dronePoints = InjectionPoints.parametersInMethod(droneContext.get(), event.getTestMethod(),
+            event.getTestClass().getJavaClass());
 
         for (DronePoint<?> dronePoint : dronePoints) {
 
@@ -167,6 +230,7 @@ public class DroneLifecycleManager {
                 if (!droneContext.get().get(dronePoint).hasFutureInstance()) {
                     createDroneConfigurationCommand.fire(new PrepareDrone(dronePoint));
                 }
+                startEagerInstantiation(dronePoint);
 
                 // in case that deployment is done before the enrichment, then only prepare the DronePoint - Enrichment will be done later as a part of the standard process
                 Object testClass = filteredDronePoints.get(dronePoint);
@@ -182,11 +246,11 @@ public class DroneLifecycleManager {
     public void after(@Observes After event) {
         DroneContext context = droneContext.get();
         LifecycleFilter lifecycleFilter = new LifecycleFilter(DronePoint.Lifecycle.METHOD);
-        FilterableResult<Object> dronePoints = context.find(Object.class).filter(lifecycleFilter);
+        FilterableResult<Object> dronePoints = context.find(Object.class)
+            .filter(lifecycleFilter)
+            .filter(new TestClassFilter(event.getTestClass().getJavaClass()));
 
-        for (DronePoint<?> dronePoint : dronePoints) {
-            destroyDroneCommand.fire(new DestroyDrone(dronePoint));
-        }
+        destroyDrones(dronePoints);
     }
 
     public void beforeUndeploy(@Observes BeforeUnDeploy event) {
@@ -197,23 +261,69 @@ public class DroneLifecycleManager {
             .filter(deploymentFilter)
             .filter(lifecycleFilter);
 
-        for (DronePoint<?> dronePoint : dronePoints) {
-            destroyDroneCommand.fire(new DestroyDrone(dronePoint));
-        }
+        destroyDrones(dronePoints);
     }
 
     public void afterClass(@Observes AfterClass event) {
         DroneContext context = droneContext.get();
 
+        // drones with suite lifecycle are not destroyed but released into the pool by the DroneDestructor
         LifecycleFilter lifecycleFilter = new LifecycleFilter(DronePoint.Lifecycle.CLASS,
-            DronePoint.Lifecycle.METHOD);
-        FilterableResult<Object> dronePoints = context.find(Object.class).filter(lifecycleFilter);
+            DronePoint.Lifecycle.METHOD, DronePoint.Lifecycle.SUITE);
+        FilterableResult<Object> dronePoints = context.find(Object.class)
+            .filter(lifecycleFilter)
+            .filter(new TestClassFilter(event.getTestClass().getJavaClass()));
+
+        destroyDrones(dronePoints);
+    }
+
+    /**
+     * Drops the injection points cached for the finished test class, once all the other observers are done with it
+     */
+    public void forgetInjectionPoints(@Observes(precedence = -100) AfterClass event) {
+        InjectionPoints.forget(event.getTestClass().getJavaClass());
+    }
+
+    /**
+     * Destroys the given drone points. If the parallel destruction is enabled, they are destroyed all at once so the
+     * browsers are closed concurrently.
+     */
+    private void destroyDrones(FilterableResult<Object> dronePoints) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration != null && configuration.isParallelDestruction() && dronePoints.size() > 1) {
+            List<DronePoint<?>> points = new ArrayList<DronePoint<?>>();
+            for (DronePoint<?> dronePoint : dronePoints) {
+                points.add(dronePoint);
+            }
+            destroyDronesCommand.fire(new DestroyDrones(points));
+            return;
+        }
 
         for (DronePoint<?> dronePoint : dronePoints) {
             destroyDroneCommand.fire(new DestroyDrone(dronePoint));
         }
     }
 
+    /**
+     * Starts instantiation of the given prepared drone point in the background if the eager instantiation is enabled,
+     * so the browser is started while the deployment is in progress. The enrichment then only waits for the already
+     * running instantiation.
+     */
+    private void startEagerInstantiation(DronePoint<?> dronePoint) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration == null || !configuration.isEagerInstantiation()
+            || Boolean.valueOf(SecurityActions.getProperty(DroneTestEnricher.ARQUILLIAN_DRONE_CREATION_PROPERTY))) {
+            return;
+        }
+
+        DronePointContext<?> pointContext = droneContext.get().get(dronePoint);
+        if (pointContext instanceof DronePointContextImpl) {
+            ((DronePointContextImpl<?>) pointContext).startInstantiation();
+        }
+    }
+
     /**
      * Global Drone configuration. Applicable to any Drone type
      *
@@ -226,8 +336,42 @@ public class DroneLifecycleManager {
 
         public static final int DEFAULT_INSTANTIATION_TIMEOUT = 60;
 
+        public static final int DEFAULT_DESTRUCTION_TIMEOUT = 60;
+
+        public static final int DEFAULT_MAX_PENDING_DESTRUCTIONS = 8;
+
+        public static final int DEFAULT_EXECUTOR_POOL_SIZE = 16;
+
         private int instantiationTimeoutInSeconds = DEFAULT_INSTANTIATION_TIMEOUT;
 
+        private int destructionTimeoutInSeconds = DEFAULT_DESTRUCTION_TIMEOUT;
+
+        private boolean eagerInstantiation;
+
+        private boolean parallelInstantiation;
+
+        private boolean parallelDestruction;
+
+        private boolean asynchronousDestruction;
+
+        private int maxPendingDestructions = DEFAULT_MAX_PENDING_DESTRUCTIONS;
+
+        private boolean reportLifecycleMetrics;
+
+        private boolean reportTimeline;
+
+        private boolean lookAheadInstantiation;
+
+        private boolean reuseMethodDrones;
+
+        private String executor = DroneExecutor.ARQUILLIAN;
+
+        private int executorPoolSize = DEFAULT_EXECUTOR_POOL_SIZE;
+
+        private boolean lazyInjection;
+
+        private boolean isolateTestClasses;
+
         @Override
         public String getConfigurationName() {
             return CONFIGURATION_NAME;
@@ -242,6 +386,7 @@ public class DroneLifecycleManager {
             // if debugging is enabled
             if (Boolean.parseBoolean(SecurityActions.getProperty("arquillian.debug"))) {
                 this.instantiationTimeoutInSeconds = 0;
+                this.destructionTimeoutInSeconds = 0;
             }
 
             return this;
@@ -254,5 +399,117 @@ public class DroneLifecycleManager {
         public void setInstantiationTimeoutInSeconds(int instantiationTimeoutInSeconds) {
             this.instantiationTimeoutInSeconds = instantiationTimeoutInSeconds;
         }
+
+        public boolean isEagerInstantiation() {
+            return eagerInstantiation;
+        }
+
+        public void setEagerInstantiation(boolean eagerInstantiation) {
+            this.eagerInstantiation = eagerInstantiation;
+        }
+
+        public boolean isParallelInstantiation() {
+            return parallelInstantiation;
+        }
+
+        public void setParallelInstantiation(boolean parallelInstantiation) {
+            this.parallelInstantiation = parallelInstantiation;
+        }
+
+        public boolean isParallelDestruction() {
+            return parallelDestruction;
+        }
+
+        public void setParallelDestruction(boolean parallelDestruction) {
+            this.parallelDestruction = parallelDestruction;
+        }
+
+        public int getDestructionTimeoutInSeconds() {
+            return destructionTimeoutInSeconds;
+        }
+
+        public void setDestructionTimeoutInSeconds(int destructionTimeoutInSeconds) {
+            this.destructionTimeoutInSeconds = destructionTimeoutInSeconds;
+        }
+
+        public boolean isAsynchronousDestruction() {
+            return asynchronousDestruction;
+        }
+
+        public void setAsynchronousDestruction(boolean asynchronousDestruction) {
+            this.asynchronousDestruction = asynchronousDestruction;
+        }
+
+        public int getMaxPendingDestructions() {
+            return maxPendingDestructions;
+        }
+
+        public void setMaxPendingDestructions(int maxPendingDestructions) {
+            this.maxPendingDestructions = maxPendingDestructions;
+        }
+
+        public boolean isReportLifecycleMetrics() {
+            return reportLifecycleMetrics;
+        }
+
+        public void setReportLifecycleMetrics(boolean reportLifecycleMetrics) {
+            this.reportLifecycleMetrics = reportLifecycleMetrics;
+        }
+
+        public boolean isReportTimeline() {
+            return reportTimeline;
+        }
+
+        public void setReportTimeline(boolean reportTimeline) {
+            this.reportTimeline = reportTimeline;
+        }
+
+        public boolean isLookAheadInstantiation() {
+            return lookAheadInstantiation;
+        }
+
+        public void setLookAheadInstantiation(boolean lookAheadInstantiation) {
+            this.lookAheadInstantiation = lookAheadInstantiation;
+        }
+
+        public boolean isReuseMethodDrones() {
+            return reuseMethodDrones;
+        }
+
+        public void setReuseMethodDrones(boolean reuseMethodDrones) {
+            this.reuseMethodDrones = reuseMethodDrones;
+        }
+
+        public String getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(String executor) {
+            this.executor = executor;
+        }
+
+        public int getExecutorPoolSize() {
+            return executorPoolSize;
+        }
+
+        public void setExecutorPoolSize(int executorPoolSize) {
+            this.executorPoolSize = executorPoolSize;
+        }
+
+        public boolean isLazyInjection() {
+            return lazyInjection;
+        }
+
+        public void setLazyInjection(boolean lazyInjection) {
+            this.lazyInjection = lazyInjection;
+        }
+
+        public boolean isIsolateTestClasses() {
+            return isolateTestClasses;
+        }
+
+        public void setIsolateTestClasses(boolean isolateTestClasses) {
+            this.isolateTestClasses = isolateTestClasses;
+        }
     }
 }
@@ -0,0 +1,205 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DroneRegistry;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.test.spi.annotation.ClassScoped;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+
+/**
+ * Instantiates method scoped drones one test method ahead, if the look-ahead instantiation is enabled. Once a drone with
+ * {@link DronePoint.Lifecycle#METHOD} lifecycle is instantiated, a spare drone with the same configuration is started
+ * in the background and stored in {@link SpareDrones}. The {@link DroneConfigurator} prepares the same drone point of
+ * the next test method using the spare drone, so the test waits only for the rest of its instantiation. No spare drone
+ * is started once all the test methods declaring the drone point were run.
+ * <p/>
+ * Spare drones which were not picked up are destroyed in the background after the class, the destruction is awaited at
+ * the end of the suite.
+ * <p/>
+ * <p>
+ * Observes:
+ * </p>
+ * {@link BeforeClass} {@link AfterDroneInstantiated} {@link AfterClass} {@link AfterSuite}
+ */
+public class DroneLookAheadInstantiator {
+    private static final Logger log = Logger.getLogger(DroneLookAheadInstantiator.class.getName());
+
+    @Inject
+    private Instance<DroneContext> droneContext;
+
+    @Inject
+    private Instance<DroneRegistry> registry;
+
+    @Inject
+    private Instance<ArquillianDescriptor> arquillianDescriptor;
+
+    @Inject
+    private Instance<DroneExecutor> droneExecutor;
+
+    @Inject
+    @ClassScoped
+    private InstanceProducer<SpareDrones> spareDrones;
+
+    // destructions of the spare drones which were not picked up, awaited at the end of the suite
+    private final List<Future<?>> pendingDestructions = new CopyOnWriteArrayList<Future<?>>();
+
+    public void createSpareDrones(@Observes BeforeClass event) {
+        if (isLookAheadEnabled()) {
+            spareDrones.set(new SpareDrones(event.getTestClass().getJavaClass()));
+        }
+    }
+
+    public void startSpareDrone(@Observes AfterDroneInstantiated event) {
+        DronePoint<?> dronePoint = event.getDronePoint();
+        if (dronePoint.getLifecycle() != DronePoint.Lifecycle.METHOD || !isLookAheadEnabled()) {
+            return;
+        }
+
+        SpareDrones spares = spareDrones.get();
+        if (spares == null) {
+            spares = new SpareDrones(null);
+            spareDrones.set(spares);
+        }
+        int instantiations = spares.instantiated(dronePoint);
+        if (!spares.contains(dronePoint) && hasRemainingMethods(spares, dronePoint, instantiations)) {
+            startSpareDrone(spares, dronePoint);
+        }
+    }
+
+    /**
+     * Destroys spare drones no test method of the class picked up. The destruction waits for the spare drone to be
+     * instantiated, so it is run by the {@link DroneExecutor} instead of the test thread.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void destroySpareDrones(@Observes AfterClass event) {
+        SpareDrones spares = spareDrones.get();
+        if (spares == null) {
+            return;
+        }
+
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        final int timeout = configuration != null ? configuration.getInstantiationTimeoutInSeconds() : 0;
+
+        for (final SpareDrones.SpareDrone<?> spare : spares.drain()) {
+            final Destructor destructor =
+                registry.get().getEntryFor(spare.getDronePoint().getDroneType(), Destructor.class);
+            pendingDestructions.add(droneExecutor.get().submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Object drone = spare.await(timeout);
+                    if (drone == null) {
+                        return null;
+                    }
+                    try {
+                        destructor.destroyInstance(drone);
+                    } catch (RuntimeException e) {
+                        log.log(Level.WARNING, "Unable to destroy spare drone for {0}, reason: {1}",
+                            new Object[] {spare.getDronePoint(), e});
+                    }
+                    return null;
+                }
+            }));
+        }
+    }
+
+    /**
+     * Waits for the destruction of spare drones before the drone executor is shut down
+     */
+    public void awaitSpareDroneDestructions(@Observes(precedence = 70) AfterSuite event) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        int timeout = configuration != null ? configuration.getDestructionTimeoutInSeconds() : 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+        for (Future<?> destruction : pendingDestructions) {
+            try {
+                if (timeout > 0) {
+                    destruction.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    destruction.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.log(Level.WARNING, "Spare drone was not destroyed until the end of the suite, reason: {0}", e);
+            }
+        }
+        pendingDestructions.clear();
+    }
+
+    /**
+     * Checks whether a test method of the current test class which was not run yet declares the given drone point
+     */
+    private boolean hasRemainingMethods(SpareDrones spares, DronePoint<?> dronePoint, int instantiations) {
+        Class<?> testClass = spares.getTestClass();
+        // without the test class the remaining methods are unknown, so the spare drone is started anyway
+        return testClass == null || InjectionPoints.methodsDeclaring(testClass, dronePoint) > instantiations;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <DRONE> void startSpareDrone(SpareDrones spares, final DronePoint<DRONE> dronePoint) {
+        DroneRegistry droneRegistry = registry.get();
+        Configurator<DRONE, ?> configurator = droneRegistry.getEntryFor(dronePoint.getDroneType(), Configurator.class);
+        final Instantiator instantiator = droneRegistry.getEntryFor(dronePoint.getDroneType(), Instantiator.class);
+
+        // the configuration is created the same way the next test method would create it
+        final DroneConfiguration<?> configuration =
+            configurator.createConfiguration(arquillianDescriptor.get(), dronePoint);
+
+        Future<DRONE> instance = droneExecutor.get().submit(new Callable<DRONE>() {
+            @Override
+            public DRONE call() throws Exception {
+                return (DRONE) instantiator.createInstance(configuration);
+            }
+        });
+
+        log.log(Level.FINE, "Started spare drone for injection point {0}", dronePoint);
+        spares.add(new SpareDrones.SpareDrone<DRONE>(dronePoint, configuration, instantiator, instance));
+    }
+
+    private boolean isLookAheadEnabled() {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        // reused method scoped drones are leased from the pool, a spare drone would never be picked up
+        return configuration != null && configuration.isLookAheadInstantiation()
+            && !configuration.isReuseMethodDrones();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jboss.arquillian.drone.impl.jfr.RecordedDronePhase;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.metrics.DroneLatencyHistogram;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetrics;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+
+/**
+ * Collects latencies of Drone life cycle phases. A phase is started and stopped for a drone point, the elapsed time is
+ * recorded into the histogram of the drone type and qualifier of the drone point.
+ */
+class DroneMetricsImpl implements DroneMetrics {
+
+    private static final Comparator<DroneLatencyHistogram> HISTOGRAM_ORDER = new Comparator<DroneLatencyHistogram>() {
+        @Override
+        public int compare(DroneLatencyHistogram first, DroneLatencyHistogram second) {
+            int result = first.getDroneType().getName().compareTo(second.getDroneType().getName());
+            if (result == 0) {
+                result = first.getQualifier().getName().compareTo(second.getQualifier().getName());
+            }
+            return result == 0 ? first.getPhase().compareTo(second.getPhase()) : result;
+        }
+    };
+
+    private final ConcurrentMap<HistogramKey, DroneLatencyHistogramImpl> histograms =
+        new ConcurrentHashMap<HistogramKey, DroneLatencyHistogramImpl>();
+
+    private final ConcurrentMap<PhaseKey, StartedPhase> started = new ConcurrentHashMap<PhaseKey, StartedPhase>();
+
+    /**
+     * Starts the phase
+     *
+     * @param recordedPhase
+     *     the phase being recorded by the flight recorder, might be {@code null}
+     *
+     * @return the same phase of the drone point which was never stopped or {@code null} if there is none
+     */
+    StartedPhase start(DronePhase phase, DronePoint<?> dronePoint, RecordedDronePhase recordedPhase) {
+        return started.put(new PhaseKey(phase, dronePoint), new StartedPhase(System.nanoTime(), recordedPhase));
+    }
+
+    /**
+     * Forgets the phases which were started but never stopped
+     *
+     * @return the unfinished phases
+     */
+    Map<PhaseKey, StartedPhase> drainUnfinished() {
+        Map<PhaseKey, StartedPhase> unfinished = new HashMap<PhaseKey, StartedPhase>();
+        for (Map.Entry<PhaseKey, StartedPhase> entry : started.entrySet()) {
+            if (started.remove(entry.getKey(), entry.getValue())) {
+                unfinished.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return unfinished;
+    }
+
+    /**
+     * Stops the phase and records its latency
+     *
+     * @return the stopped phase or {@code null} if the phase was not started
+     */
+    @SuppressWarnings("deprecation")
+    StartedPhase stop(DronePhase phase, DronePoint<?> dronePoint) {
+        StartedPhase startedPhase = started.remove(new PhaseKey(phase, dronePoint));
+        if (startedPhase == null) {
+            return null;
+        }
+        long elapsed = System.nanoTime() - startedPhase.getStart();
+
+        HistogramKey key = new HistogramKey(phase, dronePoint.getDroneType(), dronePoint.getQualifier());
+        DroneLatencyHistogramImpl histogram = histograms.get(key);
+        if (histogram == null) {
+            DroneLatencyHistogramImpl created = new DroneLatencyHistogramImpl(phase, key.droneType, key.qualifier);
+            histogram = histograms.putIfAbsent(key, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(elapsed);
+        return startedPhase;
+    }
+
+    @Override
+    public List<DroneLatencyHistogram> getHistograms() {
+        List<DroneLatencyHistogram> result = new ArrayList<DroneLatencyHistogram>(histograms.values());
+        Collections.sort(result, HISTOGRAM_ORDER);
+        return result;
+    }
+
+    @Override
+    public DroneLatencyHistogram getHistogram(DronePhase phase, Class<?> droneType,
+        Class<? extends Annotation> qualifier) {
+        return histograms.get(new HistogramKey(phase, droneType, qualifier));
+    }
+
+    /**
+     * Start of a phase together with its recording by the flight recorder
+     */
+    static final class StartedPhase {
+        private final long start;
+        private final RecordedDronePhase recordedPhase;
+
+        StartedPhase(long start, RecordedDronePhase recordedPhase) {
+            this.start = start;
+            this.recordedPhase = recordedPhase;
+        }
+
+        long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the phase recorded by the flight recorder, {@code null} if it is not recorded
+         */
+        RecordedDronePhase getRecordedPhase() {
+            return recordedPhase;
+        }
+    }
+
+    static final class PhaseKey {
+        private final DronePhase phase;
+        private final DronePoint<?> dronePoint;
+
+        PhaseKey(DronePhase phase, DronePoint<?> dronePoint) {
+            this.phase = phase;
+            this.dronePoint = dronePoint;
+        }
+
+        DronePhase getPhase() {
+            return phase;
+        }
+
+        DronePoint<?> getDronePoint() {
+            return dronePoint;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PhaseKey)) {
+                return false;
+            }
+            PhaseKey other = (PhaseKey) obj;
+            return phase == other.phase && dronePoint.equals(other.dronePoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * phase.hashCode() + dronePoint.hashCode();
+        }
+    }
+
+    private static final class HistogramKey {
+        private final DronePhase phase;
+        private final Class<?> droneType;
+        private final Class<? extends Annotation> qualifier;
+
+        HistogramKey(DronePhase phase, Class<?> droneType, Class<? extends Annotation> qualifier) {
+            this.phase = phase;
+            this.droneType = droneType;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof HistogramKey)) {
+                return false;
+            }
+            HistogramKey other = (HistogramKey) obj;
+            return phase == other.phase && droneType.equals(other.droneType) && qualifier.equals(other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * phase.hashCode() + droneType.hashCode()) + qualifier.hashCode();
+        }
+    }
+}
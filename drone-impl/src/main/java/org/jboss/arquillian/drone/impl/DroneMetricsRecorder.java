@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.impl.jfr.DroneFlightRecorder;
+import org.jboss.arquillian.drone.impl.jfr.RecordedDronePhase;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDeenhanced;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneEnhanced;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.AfterDronePrepared;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneDeenhanced;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneEnhanced;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.BeforeDronePrepared;
+import org.jboss.arquillian.drone.spi.event.DroneEvent;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetrics;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetricsExporter;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Records latencies of Drone life cycle phases into {@link DroneMetrics} and hands them over to all
+ * {@link DroneMetricsExporter}s at the end of the suite. If the {@link DroneTimeline} is recorded, each finished phase
+ * is added to it as well. If the JVM provides the {@code jdk.jfr} API, each phase is emitted as a Java Flight Recorder
+ * event by the {@link DroneFlightRecorder}, including the phases which were never finished.
+ * <p/>
+ * A phase starts after all other observers of its Before event were notified and stops before any other observer of
+ * its After event is notified, so e.g. enhancement done on {@link AfterDroneInstantiated} is not counted into the
+ * instantiation.
+ * <p/>
+ * <p>
+ * Observes:
+ * </p>
+ * {@link BeforeSuite} {@link AfterSuite} and Before/After events of the preparation, instantiation, enhancement,
+ * deenhancement and destruction of drones
+ */
+public class DroneMetricsRecorder {
+    private static final Logger log = Logger.getLogger(DroneMetricsRecorder.class.getName());
+
+    static final int START_PRECEDENCE = -1000;
+
+    static final int STOP_PRECEDENCE = 1000;
+
+    // JFR API is available since JDK 8u262
+    private static final boolean JFR_AVAILABLE = isClassPresent(DroneFlightRecorder.JFR_EVENT_CLASS);
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DroneMetrics> droneMetrics;
+
+    @Inject
+    private Instance<ServiceLoader> serviceLoader;
+
+    @Inject
+    private Instance<DroneTimeline> droneTimeline;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DroneFlightRecorder> droneFlightRecorder;
+
+    @Inject
+    private Instance<DroneContext> droneContext;
+
+    public void startRecording(@Observes BeforeSuite event) {
+        if (droneMetrics.get() == null) {
+            droneMetrics.set(new DroneMetricsImpl());
+        }
+        if (JFR_AVAILABLE && droneFlightRecorder.get() == null) {
+            droneFlightRecorder.set(new DroneFlightRecorder());
+        }
+    }
+
+    /**
+     * Exports the metrics after all drones were destroyed, including those destroyed in the background.
+     */
+    public void exportMetrics(@Observes(precedence = -100) AfterSuite event) {
+        DroneMetrics metrics = droneMetrics.get();
+        if (metrics == null) {
+            return;
+        }
+
+        if (metrics instanceof DroneMetricsImpl) {
+            for (DroneMetricsImpl.StartedPhase unfinished : ((DroneMetricsImpl) metrics).drainUnfinished().values()) {
+                endRecording(unfinished, false);
+            }
+        }
+
+        for (DroneMetricsExporter exporter : serviceLoader.get().all(DroneMetricsExporter.class)) {
+            try {
+                exporter.export(metrics);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Unable to export Drone metrics using " + exporter.getClass().getName(), e);
+            }
+        }
+    }
+
+    public void beforePrepared(@Observes(precedence = START_PRECEDENCE) BeforeDronePrepared event) {
+        start(DronePhase.PREPARE, event);
+    }
+
+    public void afterPrepared(@Observes(precedence = STOP_PRECEDENCE) AfterDronePrepared event) {
+        stop(DronePhase.PREPARE, event);
+    }
+
+    public void beforeInstantiated(@Observes(precedence = START_PRECEDENCE) BeforeDroneInstantiated event) {
+        start(DronePhase.INSTANTIATE, event);
+    }
+
+    public void afterInstantiated(@Observes(precedence = STOP_PRECEDENCE) AfterDroneInstantiated event) {
+        stop(DronePhase.INSTANTIATE, event);
+    }
+
+    public void beforeEnhanced(@Observes(precedence = START_PRECEDENCE) BeforeDroneEnhanced event) {
+        start(DronePhase.ENHANCE, event);
+    }
+
+    public void afterEnhanced(@Observes(precedence = STOP_PRECEDENCE) AfterDroneEnhanced event) {
+        stop(DronePhase.ENHANCE, event);
+    }
+
+    public void beforeDeenhanced(@Observes(precedence = START_PRECEDENCE) BeforeDroneDeenhanced event) {
+        start(DronePhase.DEENHANCE, event);
+    }
+
+    public void afterDeenhanced(@Observes(precedence = STOP_PRECEDENCE) AfterDroneDeenhanced event) {
+        stop(DronePhase.DEENHANCE, event);
+    }
+
+    public void beforeDestroyed(@Observes(precedence = START_PRECEDENCE) BeforeDroneDestroyed event) {
+        start(DronePhase.DESTROY, event);
+    }
+
+    public void afterDestroyed(@Observes(precedence = STOP_PRECEDENCE) AfterDroneDestroyed event) {
+        stop(DronePhase.DESTROY, event);
+    }
+
+    private void start(DronePhase phase, DroneEvent event) {
+        DroneMetrics metrics = droneMetrics.get();
+        if (metrics instanceof DroneMetricsImpl) {
+            DroneFlightRecorder flightRecorder = droneFlightRecorder.get();
+            RecordedDronePhase recordedPhase = flightRecorder != null
+                ? flightRecorder.phaseStarted(phase, event.getDronePoint()) : null;
+            DroneMetricsImpl.StartedPhase unfinished =
+                ((DroneMetricsImpl) metrics).start(phase, event.getDronePoint(), recordedPhase);
+
+            // the same phase started again, so the previous one failed
+            endRecording(unfinished, false);
+        }
+    }
+
+    private void stop(DronePhase phase, DroneEvent event) {
+        DroneMetrics metrics = droneMetrics.get();
+        if (metrics instanceof DroneMetricsImpl) {
+            DroneMetricsImpl.StartedPhase stopped = ((DroneMetricsImpl) metrics).stop(phase, event.getDronePoint());
+            if (stopped == null) {
+                return;
+            }
+            endRecording(stopped, true);
+
+            // enhancement is a part of the post instantiation span of the timeline
+            DroneTimeline timeline = droneTimeline.get();
+            if (timeline != null && phase != DronePhase.ENHANCE) {
+                timeline.span(phase.name(), event.getDronePoint(), stopped.getStart(), System.nanoTime());
+            }
+        }
+    }
+
+    private void endRecording(DroneMetricsImpl.StartedPhase startedPhase, boolean finished) {
+        if (startedPhase != null && startedPhase.getRecordedPhase() != null) {
+            startedPhase.getRecordedPhase().end(finished, droneContext.get());
+        }
+    }
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, DroneMetricsRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
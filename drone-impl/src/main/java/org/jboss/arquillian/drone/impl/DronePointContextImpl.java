@@ -17,8 +17,8 @@
 package org.jboss.arquillian.drone.impl;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -28,29 +28,39 @@ import java.util.logging.Logger;
 import org.jboss.arquillian.core.api.Event;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
-import org.jboss.arquillian.core.api.threading.ExecutorService;
 import org.jboss.arquillian.drone.spi.CachingCallable;
 import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
 import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.deployment.DeploymentNameKey;
 import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
 import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
 
+/**
+ * Default implementation of {@link DronePointContext}. The future instance and the configuration are published safely to
+ * all threads, the instantiation itself is done by a single thread, so the instantiation events are fired only once.
+ */
 public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
     private static final Logger LOGGER = Logger.getLogger(DronePointContextImpl.class.getName());
 
     private final DronePoint<DRONE> dronePoint;
     private final Map<Class<? extends MetadataKey<?>>, Object> metadataMap;
+    // context which keeps index of the metadata, might be null
+    private final DroneContextImpl owner;
+
+    private volatile CachingCallable<DRONE> futureInstance;
+    private volatile DroneConfiguration<?> configuration;
 
-    private CachingCallable<DRONE> futureInstance;
-    private DroneConfiguration<?> configuration;
+    // instantiation started ahead of time, see startInstantiation(), both are written while holding the lock of this
+    private volatile CachingCallable<DRONE> startedCallable;
+    private Future<DRONE> startedInstance;
 
     @Inject
     private Instance<DroneContext> droneContext;
 
     @Inject
-    private Instance<ExecutorService> executorService;
+    private Instance<DroneExecutor> droneExecutor;
 
     @Inject
     private Event<BeforeDroneInstantiated> beforeDroneInstantiatedEvent;
@@ -59,8 +69,13 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
     private Event<AfterDroneInstantiated> afterDroneInstantiatedEvent;
 
     public DronePointContextImpl(DronePoint<DRONE> dronePoint) {
+        this(dronePoint, null);
+    }
+
+    DronePointContextImpl(DronePoint<DRONE> dronePoint, DroneContextImpl owner) {
         this.dronePoint = dronePoint;
-        metadataMap = new HashMap<Class<? extends MetadataKey<?>>, Object>();
+        this.owner = owner;
+        metadataMap = new ConcurrentHashMap<Class<? extends MetadataKey<?>>, Object>();
     }
 
     @Override
@@ -76,12 +91,26 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
                 "point {0}!", dronePoint));
         }
 
-        boolean newInstance = !futureInstance.isValueCached();
-        if (newInstance) {
+        // fast path, the instance is already there so there is nothing to wait for
+        if (startedCallable != futureInstance && futureInstance.isValueCached()) {
+            return cachedDrone(futureInstance);
+        }
+
+        synchronized (this) {
+            return instantiate(futureInstance);
+        }
+    }
+
+    private DRONE instantiate(CachingCallable<DRONE> futureInstance) {
+        Future<DRONE> started = takeStartedInstance(futureInstance);
+
+        // the instantiation events have to be fired even if the value was cached by a background instantiation
+        boolean newInstance = started != null || !futureInstance.isValueCached();
+        if (newInstance && started == null) {
             beforeDroneInstantiatedEvent.fire(new BeforeDroneInstantiated(dronePoint));
         }
 
-        DRONE drone = instantiateDrone(futureInstance);
+        DRONE drone = started != null ? awaitDrone(started) : instantiateDrone(futureInstance);
 
         if (newInstance) {
             afterDroneInstantiatedEvent.fire(new AfterDroneInstantiated(dronePoint));
@@ -95,6 +124,26 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
         }
     }
 
+    /**
+     * Submits the future instance to the executor without waiting for the result, so the drone is instantiated in the
+     * background. {@link BeforeDroneInstantiated} is fired immediately, {@link AfterDroneInstantiated} is fired by the
+     * first {@link #getInstance()} call which picks the started instance up.
+     * <p/>
+     * Does nothing if there is no future instance set, if it is already instantiated or if the instantiation was
+     * already started.
+     */
+    public synchronized void startInstantiation() {
+        final CachingCallable<DRONE> futureInstance = this.futureInstance;
+        if (futureInstance == null || futureInstance.isValueCached() || startedCallable == futureInstance) {
+            return;
+        }
+
+        beforeDroneInstantiatedEvent.fire(new BeforeDroneInstantiated(dronePoint));
+
+        startedInstance = droneExecutor.get().submit(futureInstance);
+        startedCallable = futureInstance;
+    }
+
     @Override
     public <CAST_DRONE> CAST_DRONE getInstanceAs(Class<CAST_DRONE> droneClass) throws IllegalArgumentException,
         IllegalStateException {
@@ -137,7 +186,8 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
 
     @Override
     public boolean isInstantiated() {
-        return hasFutureInstance() && futureInstance.isValueCached();
+        // an instantiation started in the background counts as well, otherwise the started drone would never be destroyed
+        return hasFutureInstance() && (futureInstance.isValueCached() || startedCallable == futureInstance);
     }
 
     @Override
@@ -178,7 +228,11 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
     public <KEY extends MetadataKey<VALUE>, VALUE> void setMetadata(Class<KEY> keyClass, VALUE metadata) {
         Validate.notNull(keyClass, "Given key class cannot be null!");
 
-        metadataMap.put(keyClass, metadata);
+        // the concurrent map does not allow null values, a null metadata is the same as no metadata
+        Object previous = metadata != null ? metadataMap.put(keyClass, metadata) : metadataMap.remove(keyClass);
+        if (owner != null && keyClass == DeploymentNameKey.class) {
+            owner.deploymentChanged(this, (String) previous, (String) metadata);
+        }
     }
 
     @Override
@@ -203,10 +257,37 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
     public <KEY extends MetadataKey<VALUE>, VALUE> void removeMetadata(Class<KEY> keyClass) {
         Validate.notNull(keyClass, "Given key class canoot be null!");
 
-        metadataMap.remove(keyClass);
+        Object previous = metadataMap.remove(keyClass);
+        if (owner != null && keyClass == DeploymentNameKey.class) {
+            owner.deploymentChanged(this, (String) previous, null);
+        }
+    }
+
+    private Future<DRONE> takeStartedInstance(CachingCallable<DRONE> futureInstance) {
+        if (startedCallable != futureInstance) {
+            return null;
+        }
+        Future<DRONE> started = startedInstance;
+        startedCallable = null;
+        startedInstance = null;
+        return started;
+    }
+
+    private <T> T cachedDrone(CachingCallable<T> droneCallable) {
+        try {
+            return droneCallable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
     }
 
     private <T> T instantiateDrone(CachingCallable<T> droneCallable) {
+        return awaitDrone(droneExecutor.get().submit(droneCallable));
+    }
+
+    private <T> T awaitDrone(Future<T> futureDrone) {
         // FIXME we need to make some kind of global drone configuration!
 
         int timeout = droneContext.get().getGlobalDroneConfiguration(DroneLifecycleManager.GlobalDroneConfiguration
@@ -215,7 +296,6 @@ public class DronePointContextImpl<DRONE> implements DronePointContext<DRONE> {
 
         try {
             T drone;
-            Future<T> futureDrone = executorService.get().submit(droneCallable);
             if (timeout > 0) {
                 drone = futureDrone.get(timeout, TimeUnit.SECONDS);
             }
@@ -27,8 +27,19 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
     private final Class<DRONE> droneClass;
     private final Annotation[] annotations;
     private final Lifecycle lifecycle;
+    // test class the drone point is isolated in, null if it is shared by all the test classes
+    private final Class<?> testClass;
 
     public DronePointImpl(Class<DRONE> droneClass, Lifecycle lifecycle, Annotation... annotations) {
+        this(droneClass, lifecycle, null, annotations);
+    }
+
+    /**
+     * Creates a drone point isolated in the given test class, it is not equal to the same drone point of any other test
+     * class, so test classes running concurrently do not share their drones.
+     */
+    public DronePointImpl(Class<DRONE> droneClass, Lifecycle lifecycle, Class<?> testClass,
+        Annotation... annotations) {
         for (Annotation annotation : annotations) {
             if (annotation == null) {
                 throw new IllegalArgumentException("Annotation cannot be null!");
@@ -38,6 +49,7 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
         this.droneClass = droneClass;
         this.annotations = annotations;
         this.lifecycle = lifecycle;
+        this.testClass = testClass;
 
         Arrays.sort(this.annotations, new Comparator<Annotation>() {
             @Override
@@ -62,6 +74,20 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
         return lifecycle;
     }
 
+    /**
+     * Returns the test class the drone point is isolated in, or null if the drone point is shared by all test classes
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Returns the drone point shared by all test classes this drone point was isolated from
+     */
+    DronePoint<DRONE> shared() {
+        return testClass == null ? this : new DronePointImpl<DRONE>(droneClass, lifecycle, annotations);
+    }
+
     @Override
     @Deprecated
     public Class<? extends Annotation> getQualifier() {
@@ -88,6 +114,7 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
         if (!Arrays.equals(annotations, that.annotations)) return false;
         if (droneClass != null ? !droneClass.equals(that.droneClass) : that.droneClass != null) return false;
         if (lifecycle != that.lifecycle) return false;
+        if (testClass != that.testClass) return false;
 
         return true;
     }
@@ -97,6 +124,7 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
         int result = droneClass != null ? droneClass.hashCode() : 0;
         result = 31 * result + (annotations != null ? Arrays.hashCode(annotations) : 0);
         result = 31 * result + (lifecycle != null ? lifecycle.hashCode() : 0);
+        result = 31 * result + (testClass != null ? testClass.hashCode() : 0);
         return result;
     }
 
@@ -106,6 +134,7 @@ public class DronePointImpl<DRONE> implements DronePoint<DRONE> {
             "droneClass=" + droneClass +
             ", annotations=" + Arrays.toString(annotations) +
             ", lifecycle=" + lifecycle +
+            (testClass != null ? ", testClass=" + testClass.getName() : "") +
             '}';
     }
 }
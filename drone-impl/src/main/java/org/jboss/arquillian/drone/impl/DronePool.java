@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+
+/**
+ * Pool of instantiated drones with {@link DronePoint.Lifecycle#SUITE} lifecycle. A drone is released into the pool
+ * instead of being destroyed after a test class and it is leased by the next test class declaring the same
+ * {@link DronePoint}, so it is configured by the same configuration.
+ * <p/>
+ * If the reuse of method scoped drones is enabled, drones with {@link DronePoint.Lifecycle#METHOD} lifecycle are
+ * released after a test method and leased by the next test method the same way.
+ * <p/>
+ * Drones which remain in the pool at the end of the suite have to be destroyed, see {@link #drain()}.
+ * <p/>
+ * Drone points isolated in a test class share the pooled drones with the same drone points of other test classes.
+ */
+public class DronePool {
+
+    private final Map<DronePoint<?>, Deque<PooledDrone<?>>> pooledDrones;
+
+    public DronePool() {
+        this.pooledDrones = new HashMap<DronePoint<?>, Deque<PooledDrone<?>>>();
+    }
+
+    /**
+     * Checks whether the drone of the given {@link DronePoint} is released into the pool instead of being destroyed
+     *
+     * @param dronePoint
+     *     a {@link DronePoint} going out of scope
+     * @param configuration
+     *     the global configuration, might be {@code null}
+     *
+     * @return {@code true} for drones with suite lifecycle and for drones with method lifecycle if their reuse is
+     * enabled
+     */
+    static boolean isPooled(DronePoint<?> dronePoint, GlobalDroneConfiguration configuration) {
+        switch (dronePoint.getLifecycle()) {
+            case SUITE:
+                return true;
+            case METHOD:
+                return configuration != null && configuration.isReuseMethodDrones();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the given drone instance together with its configuration into the pool
+     *
+     * @param dronePoint
+     *     a {@link DronePoint} the drone instance belongs to
+     * @param configuration
+     *     a configuration the drone instance was created with
+     * @param instance
+     *     a drone instance to be reused
+     */
+    public synchronized <DRONE> void release(DronePoint<DRONE> dronePoint, DroneConfiguration<?> configuration,
+        DRONE instance) {
+        DronePoint<?> key = keyOf(dronePoint);
+        Deque<PooledDrone<?>> drones = pooledDrones.get(key);
+        if (drones == null) {
+            drones = new ArrayDeque<PooledDrone<?>>();
+            pooledDrones.put(key, drones);
+        }
+        drones.push(new PooledDrone<DRONE>(dronePoint, configuration, instance));
+    }
+
+    /**
+     * Takes a drone for the given {@link DronePoint} out of the pool
+     *
+     * @return a pooled drone or {@code null} if there is no drone available for the given {@link DronePoint}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <DRONE> PooledDrone<DRONE> lease(DronePoint<DRONE> dronePoint) {
+        Deque<PooledDrone<?>> drones = pooledDrones.get(keyOf(dronePoint));
+        if (drones == null || drones.isEmpty()) {
+            return null;
+        }
+        return (PooledDrone<DRONE>) drones.pop();
+    }
+
+    /**
+     * Takes all drones out of the pool
+     *
+     * @return all drones which were pooled
+     */
+    public synchronized List<PooledDrone<?>> drain() {
+        List<PooledDrone<?>> drained = new ArrayList<PooledDrone<?>>();
+        for (Deque<PooledDrone<?>> drones : pooledDrones.values()) {
+            drained.addAll(drones);
+        }
+        pooledDrones.clear();
+        return drained;
+    }
+
+    private static DronePoint<?> keyOf(DronePoint<?> dronePoint) {
+        return dronePoint instanceof DronePointImpl ? ((DronePointImpl<?>) dronePoint).shared() : dronePoint;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Deque<PooledDrone<?>> drones : pooledDrones.values()) {
+            size += drones.size();
+        }
+        return size;
+    }
+
+    /**
+     * A drone instance held in the pool together with its configuration
+     */
+    public static class PooledDrone<DRONE> {
+        private final DronePoint<DRONE> dronePoint;
+        private final DroneConfiguration<?> configuration;
+        private final DRONE instance;
+
+        PooledDrone(DronePoint<DRONE> dronePoint, DroneConfiguration<?> configuration, DRONE instance) {
+            this.dronePoint = dronePoint;
+            this.configuration = configuration;
+            this.instance = instance;
+        }
+
+        public DronePoint<DRONE> getDronePoint() {
+            return dronePoint;
+        }
+
+        public DRONE getInstance() {
+            return instance;
+        }
+
+        /**
+         * Stores the configuration and the already instantiated drone into the given context, so no instantiation
+         * events are fired when the instance is retrieved.
+         */
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void restoreInto(DronePointContext<DRONE> pointContext) {
+            pointContext.setConfiguration((DroneConfiguration) configuration);
+            pointContext.setFutureInstance(new ConstantValueCachingCallable<DRONE>(instance));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.threading.ContextSnapshot;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DronePoint;
+
+/**
+ * Destroys drone instances in the background, so the test lifecycle does not have to wait for browsers to quit. The
+ * destructors run with the Arquillian contexts of the thread which scheduled the destruction active. The number of
+ * pending destructions is bounded; if the queue is full, the drone is destroyed by the calling thread and a warning is
+ * logged, as the destruction is no longer asynchronous.
+ * <p/>
+ * Drones which are still pending at the end of the suite have to be destroyed, see {@link #drain(int)}.
+ */
+public class DroneReaper {
+    private static final Logger log = Logger.getLogger(DroneReaper.class.getName());
+
+    private static final int REAPER_THREADS = 2;
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService arquillianExecutor;
+    private final int maxPendingDestructions;
+    private final AtomicBoolean overflowReported = new AtomicBoolean();
+
+    /**
+     * @param maxPendingDestructions
+     *     maximal number of destructions waiting for a reaper thread
+     * @param arquillianExecutor
+     *     the executor of Arquillian core, used to capture Arquillian contexts
+     */
+    public DroneReaper(int maxPendingDestructions, ExecutorService arquillianExecutor) {
+        this.maxPendingDestructions = Math.max(1, maxPendingDestructions);
+        this.arquillianExecutor = arquillianExecutor;
+        this.executor = new ThreadPoolExecutor(REAPER_THREADS, REAPER_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(this.maxPendingDestructions), new ReaperThreadFactory());
+    }
+
+    /**
+     * Schedules destruction of the given drone instance
+     *
+     * @param dronePoint
+     *     a {@link DronePoint} the drone instance belongs to
+     * @param destructor
+     *     a destructor to be used
+     * @param instance
+     *     a drone instance to be destroyed
+     */
+    public <DRONE> void destroy(final DronePoint<DRONE> dronePoint, final Destructor<DRONE> destructor,
+        final DRONE instance) {
+        if (executor.isShutdown()) {
+            destructor.destroyInstance(instance);
+            return;
+        }
+
+        final ContextSnapshot snapshot = arquillianExecutor.createSnapshotContext();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    snapshot.activate();
+                    try {
+                        destructor.destroyInstance(instance);
+                    } catch (RuntimeException e) {
+                        log.log(Level.WARNING, "Unable to destroy drone " + dronePoint + " in the background", e);
+                    } finally {
+                        snapshot.deactivate();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the contexts are already active on this thread
+            if (overflowReported.compareAndSet(false, true)) {
+                log.log(Level.WARNING, "There are already {0} drones waiting to be destroyed in the background, drone "
+                    + "{1} and further ones are destroyed synchronously until the queue drains. Consider increasing "
+                    + "maxPendingDestructions.", new Object[] {maxPendingDestructions, dronePoint});
+            } else {
+                log.log(Level.FINE, "Destroying drone {0} synchronously, the queue of pending destructions is full",
+                    dronePoint);
+            }
+            destructor.destroyInstance(instance);
+        }
+    }
+
+    /**
+     * Waits for all the pending destructions. No other destruction can be scheduled afterwards.
+     *
+     * @param timeoutInSeconds
+     *     maximal time to wait, {@code 0} means no limit
+     */
+    public void drain(int timeoutInSeconds) {
+        executor.shutdown();
+        try {
+            boolean terminated;
+            if (timeoutInSeconds > 0) {
+                terminated = executor.awaitTermination(timeoutInSeconds, TimeUnit.SECONDS);
+            } else {
+                terminated = executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+            if (!terminated) {
+                log.log(Level.WARNING, "Drones were not destroyed within {0} seconds, their destruction was interrupted",
+                    timeoutInSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class ReaperThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "drone-reaper-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -16,8 +16,15 @@
  */
 package org.jboss.arquillian.drone.impl;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.jboss.arquillian.drone.spi.Configurator;
 import org.jboss.arquillian.drone.spi.Destructor;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
@@ -33,8 +40,12 @@ public class DroneRegistryImpl implements DroneRegistry {
 
     private final Map<Class<?>, RegistryValue> registry;
 
+    // destructors resolved through the type hierarchy, including the types nothing is registered for
+    private final ConcurrentMap<Class<?>, RegistryValue> resolved;
+
     DroneRegistryImpl() {
         registry = new HashMap<>();
+        resolved = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -45,6 +56,7 @@ public class DroneRegistryImpl implements DroneRegistry {
         } else {
             registry.put(key, new RegistryValue().setConfigurator(configurator));
         }
+        resolved.clear();
         return this;
     }
 
@@ -56,6 +68,7 @@ public class DroneRegistryImpl implements DroneRegistry {
         } else {
             registry.put(key, new RegistryValue().setInstantiator(value));
         }
+        resolved.clear();
         return this;
     }
 
@@ -67,23 +80,73 @@ public class DroneRegistryImpl implements DroneRegistry {
         } else {
             registry.put(key, new RegistryValue().setDestructor(value));
         }
+        resolved.clear();
         return this;
     }
 
     @Override
     public <T extends Sortable> T getEntryFor(Class<?> key, Class<T> entryType) throws IllegalStateException {
-        RegisteredType regType = RegisteredType.getType(entryType);
-        RegistryValue value = registry.get(key);
+        T entry = findEntryFor(key, entryType);
+        if (entry == null) {
+            throw new IllegalStateException(getUnregisteredExceptionMessage(key, RegisteredType.getType(entryType)));
+        }
+        return entry;
+    }
+
+    /**
+     * Configurators and instantiators are looked up by the exact drone type, as the ones of a supertype would create an
+     * instance of the supertype which cannot be injected. Destructors are looked up by the runtime class of the
+     * instance, so they are resolved through its type hierarchy as well.
+     */
+    @Override
+    public <T extends Sortable> T findEntryFor(Class<?> key, Class<T> entryType) {
+        RegisteredType registeredType = RegisteredType.getType(entryType);
+        if (registeredType != RegisteredType.DESTRUCTOR) {
+            RegistryValue value = registry.get(key);
+            return value != null ? registeredType.unwrap(value, entryType) : null;
+        }
 
+        RegistryValue value = resolved.get(key);
         if (value == null) {
-            throw new IllegalStateException(getUnregisteredExceptionMessage(key, regType));
+            value = resolve(key);
+            resolved.put(key, value);
         }
 
-        if (!regType.registeredIn(value)) {
-            throw new IllegalStateException(getUnregisteredExceptionMessage(key, regType));
+        return registeredType.unwrap(value, entryType);
+    }
+
+    /**
+     * Finds entries for the given type. All the entries are taken from the nearest type in the hierarchy something is
+     * registered for, superclasses are searched before interfaces. Entries of different types are never combined, as
+     * their configurations might not be compatible.
+     */
+    private RegistryValue resolve(Class<?> key) {
+        for (Class<?> type : hierarchyOf(key)) {
+            RegistryValue registered = registry.get(type);
+            if (registered != null) {
+                return registered;
+            }
         }
+        return new RegistryValue();
+    }
 
-        return regType.unwrap(value, entryType);
+    private static Set<Class<?>> hierarchyOf(Class<?> key) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        for (Class<?> type = key; type != null; type = type.getSuperclass()) {
+            hierarchy.add(type);
+        }
+
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> type : hierarchy) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> type = interfaces.poll();
+            if (hierarchy.add(type)) {
+                interfaces.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+        return hierarchy;
     }
 
     /**
@@ -20,9 +20,17 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -33,10 +41,18 @@ import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.DroneRegistry;
+import org.jboss.arquillian.drone.spi.InstanceInterfaces;
+import org.jboss.arquillian.drone.spi.Instantiator;
 import org.jboss.arquillian.drone.spi.command.PrepareDrone;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
 import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
+import org.jboss.arquillian.test.spi.TestClass;
 import org.jboss.arquillian.test.spi.TestEnricher;
 
 /**
@@ -58,9 +74,15 @@ public class DroneTestEnricher implements TestEnricher {
     @Inject
     private Instance<DroneContext> droneContext;
 
+    @Inject
+    private Instance<DroneRegistry> registry;
+
     @Inject
     private Event<PrepareDrone> prepareDroneCommand;
 
+    @Inject
+    private Instance<TestClass> testClassInstance;
+
     @Inject
     @ApplicationScoped
     private InstanceProducer<DeploymentDronePointsRegistry> deploymentDronePointsRegistry;
@@ -78,7 +100,9 @@ public class DroneTestEnricher implements TestEnricher {
     @Override
     public Object[] resolve(Method method) {
         DroneContext context = droneContext.get();
-        DronePoint<?>[] dronePoints = InjectionPoints.parametersInMethod(droneContext.get(), method);
+        TestClass testClass = testClassInstance.get();
+        DronePoint<?>[] dronePoints = InjectionPoints.parametersInMethod(droneContext.get(), method,
+            testClass != null ? testClass.getJavaClass() : method.getDeclaringClass());
         Object[] resolution = new Object[dronePoints.length];
 
         if (droneInstantiationShouldBeSkipped()) {
@@ -88,10 +112,10 @@ public class DroneTestEnricher implements TestEnricher {
                 log.info(ARQUILLIAN_DRONE_CREATION_PROPERTY_MSG + "method: " + method);
             }
         } else {
-            for (int i = 0; i < dronePoints.length; i++) {
-                DronePoint<?> dronePoint = dronePoints[i];
+            Set<DronePoint<?>> preparedPoints =
+                Collections.newSetFromMap(new IdentityHashMap<DronePoint<?>, Boolean>());
+            for (DronePoint<?> dronePoint : dronePoints) {
                 if (dronePoint == null) {
-                    resolution[i] = null;
                     continue;
                 }
 
@@ -101,6 +125,18 @@ public class DroneTestEnricher implements TestEnricher {
                     registerDeploymentDronePoint(dronePoint, method);
                     continue;
                 }
+                preparedPoints.add(dronePoint);
+            }
+
+            startParallelInstantiation(preparedPoints);
+
+            for (int i = 0; i < dronePoints.length; i++) {
+                DronePoint<?> dronePoint = dronePoints[i];
+                if (dronePoint == null || !preparedPoints.contains(dronePoint)) {
+                    resolution[i] = null;
+                    continue;
+                }
+
                 log.log(Level.FINE, "Injecting @Drone for method {0}, injection point {1}",
                     new Object[] {method.getName(), dronePoint}
                 );
@@ -139,6 +175,7 @@ public class DroneTestEnricher implements TestEnricher {
             return;
         }
 
+        Map<Field, DronePoint<?>> preparedPoints = new LinkedHashMap<Field, DronePoint<?>>();
         for (Field field : injectionPoints.keySet()) {
             if (onlyStatic && !Modifier.isStatic(field.getModifiers())) {
                 continue;
@@ -157,6 +194,16 @@ public class DroneTestEnricher implements TestEnricher {
                 registerDeploymentDronePoint(dronePoint, testCase);
                 continue;
             }
+            preparedPoints.put(field, dronePoint);
+        }
+
+        injectLazyProxies(testCase, preparedPoints);
+
+        startParallelInstantiation(preparedPoints.values());
+
+        for (Map.Entry<Field, DronePoint<?>> entry : preparedPoints.entrySet()) {
+            Field field = entry.getKey();
+            DronePoint<?> dronePoint = entry.getValue();
 
             log.log(Level.FINE, "Injecting @Drone for field {0}, injection point {1}",
                 new Object[] {dronePoint.getDroneType().getSimpleName(), dronePoint}
@@ -171,6 +218,93 @@ public class DroneTestEnricher implements TestEnricher {
         }
     }
 
+    /**
+     * If the lazy injection is enabled, injects a {@link LazyDroneProxy} into all the fields of an interface type, so
+     * their drones are instantiated only when they are used. The proxies implement the interfaces declared by the
+     * instantiators as well, see {@link InstanceInterfaces}. The fields are removed from the given prepared points.
+     *
+     * @param testCase
+     *     Instance of the test case
+     * @param preparedPoints
+     *     Prepared drone points about to be injected, by field
+     */
+    private void injectLazyProxies(Object testCase, Map<Field, DronePoint<?>> preparedPoints) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration == null || !configuration.isLazyInjection()) {
+            return;
+        }
+
+        Iterator<Map.Entry<Field, DronePoint<?>>> iterator = preparedPoints.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Field, DronePoint<?>> entry = iterator.next();
+            Field field = entry.getKey();
+            DronePoint<?> dronePoint = entry.getValue();
+
+            // an instantiated drone is injected directly, a proxy would only add an indirection
+            if (droneContext.get().get(dronePoint).isInstantiated()) {
+                continue;
+            }
+
+            Object proxy = LazyDroneProxy.create(droneContext.get(), dronePoint, field.getType(),
+                instanceInterfaces(dronePoint));
+            if (proxy == null) {
+                log.log(Level.INFO, "Field {0} is injected eagerly, lazy injection is possible only for fields of an "
+                    + "interface type, but it is of type {1}", new Object[] {field.getName(), field.getType().getName()});
+                continue;
+            }
+
+            log.log(Level.FINE, "Injecting lazy @Drone for field {0}, injection point {1}",
+                new Object[] {field.getName(), dronePoint});
+            SecurityActions.setFieldValue(testCase, field, proxy);
+            iterator.remove();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Class<?>[] instanceInterfaces(DronePoint<?> dronePoint) {
+        DroneRegistry droneRegistry = registry.get();
+        Instantiator instantiator = droneRegistry == null ? null
+            : droneRegistry.findEntryFor(dronePoint.getDroneType(), Instantiator.class);
+        DronePointContext<?> pointContext = droneContext.get().get(dronePoint);
+        if (!(instantiator instanceof InstanceInterfaces) || !pointContext.hasConfiguration()) {
+            return new Class<?>[0];
+        }
+        return ((InstanceInterfaces) instantiator).getInstanceInterfaces(
+            pointContext.getConfigurationAs(DroneConfiguration.class));
+    }
+
+    /**
+     * If the parallel instantiation is enabled and there is more than one drone point to be instantiated, starts the
+     * instantiation of all of them at once, so the subsequent {@code getInstance()} calls only collect the results.
+     * {@link BeforeDroneInstantiated} is fired for each drone point when its instantiation is started and
+     * {@link AfterDroneInstantiated} when its instance is retrieved.
+     *
+     * @param dronePoints
+     *     Prepared drone points about to be injected
+     */
+    private void startParallelInstantiation(Collection<DronePoint<?>> dronePoints) {
+        GlobalDroneConfiguration configuration =
+            droneContext.get().getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration == null || !configuration.isParallelInstantiation()) {
+            return;
+        }
+
+        List<DronePointContextImpl<?>> pending = new ArrayList<DronePointContextImpl<?>>();
+        for (DronePoint<?> dronePoint : new LinkedHashSet<DronePoint<?>>(dronePoints)) {
+            DronePointContext<?> pointContext = droneContext.get().get(dronePoint);
+            if (pointContext instanceof DronePointContextImpl && !pointContext.isInstantiated()) {
+                pending.add((DronePointContextImpl<?>) pointContext);
+            }
+        }
+
+        if (pending.size() > 1) {
+            for (DronePointContextImpl<?> pointContext : pending) {
+                pointContext.startInstantiation();
+            }
+        }
+    }
+
     private boolean droneInstantiationShouldBeSkipped() {
         return Boolean.valueOf(SecurityActions.getProperty(ARQUILLIAN_DRONE_CREATION_PROPERTY));
     }
@@ -196,9 +330,10 @@ public class DroneTestEnricher implements TestEnricher {
     private boolean ensureInjectionPointPrepared(DronePoint<?> dronePoint, boolean forMethod) {
         if (!droneContext.get().get(dronePoint).hasFutureInstance()) {
             if (dronePoint.getLifecycle() != DronePoint.Lifecycle.DEPLOYMENT) {
-                if (dronePoint.getLifecycle() == DronePoint.Lifecycle.CLASS) {
+                if (dronePoint.getLifecycle() == DronePoint.Lifecycle.CLASS
+                    || dronePoint.getLifecycle() == DronePoint.Lifecycle.SUITE) {
                     log.log(Level.WARNING, "Injection point {0} was not prepared yet. It will be prepared now, " +
-                        "but it''s recommended that all drones with class lifecycle are prepared in " +
+                        "but it''s recommended that all drones with class or suite lifecycle are prepared in " +
                         "@BeforeClass by the DroneLifecycleManager!", dronePoint);
                 }
 
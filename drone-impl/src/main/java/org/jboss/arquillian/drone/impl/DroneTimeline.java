@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jboss.arquillian.drone.spi.DronePoint;
+
+/**
+ * Timeline of the suite, test classes and test methods together with the spans Drone spent working on drone points.
+ * Each span is attributed to the test method running on the same thread, or to the test class running on the same
+ * thread or the one the drone point is isolated in, or to the suite. Test classes and methods running in parallel are
+ * therefore kept apart. All times are {@link System#nanoTime()} values.
+ */
+class DroneTimeline {
+
+    static final String POST_INSTANTIATION = "POST_INSTANTIATION";
+
+    final long start = System.nanoTime();
+
+    final List<ClassEntry> classes = new ArrayList<ClassEntry>();
+
+    final List<Span> suiteSpans = new ArrayList<Span>();
+
+    private final Map<Class<?>, ClassEntry> runningClasses = new HashMap<Class<?>, ClassEntry>();
+
+    private final ThreadLocal<ClassEntry> currentClass = new ThreadLocal<ClassEntry>();
+
+    private final ThreadLocal<MethodEntry> currentMethod = new ThreadLocal<MethodEntry>();
+
+    synchronized void classStarted(Class<?> testClass) {
+        ClassEntry entry = new ClassEntry(testClass.getName(), System.nanoTime());
+        classes.add(entry);
+        runningClasses.put(testClass, entry);
+        currentClass.set(entry);
+    }
+
+    synchronized void classFinished(Class<?> testClass) {
+        ClassEntry entry = runningClasses.remove(testClass);
+        if (entry != null) {
+            entry.end = System.nanoTime();
+        }
+        currentClass.remove();
+    }
+
+    synchronized void methodStarted(Class<?> testClass, Method testMethod) {
+        ClassEntry classEntry = runningClasses.get(testClass);
+        if (classEntry == null) {
+            classStarted(testClass);
+            classEntry = runningClasses.get(testClass);
+        }
+        MethodEntry entry = new MethodEntry(testMethod.getName(), System.nanoTime());
+        classEntry.methods.add(entry);
+        currentMethod.set(entry);
+    }
+
+    synchronized void bodyStarted() {
+        MethodEntry entry = currentMethod.get();
+        if (entry != null) {
+            entry.bodyStart = System.nanoTime();
+        }
+    }
+
+    synchronized void bodyFinished() {
+        MethodEntry entry = currentMethod.get();
+        if (entry != null) {
+            entry.bodyEnd = System.nanoTime();
+        }
+    }
+
+    synchronized void methodFinished() {
+        MethodEntry entry = currentMethod.get();
+        if (entry != null) {
+            entry.end = System.nanoTime();
+            currentMethod.remove();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    synchronized void span(String phase, DronePoint<?> dronePoint, long spanStart, long spanEnd) {
+        Span span = new Span(phase, dronePoint.toString(), dronePoint.getDroneType().getName(),
+            dronePoint.getQualifier().getSimpleName(), dronePoint.getLifecycle(), spanStart, spanEnd);
+
+        MethodEntry method = currentMethod.get();
+        if (method != null) {
+            method.spans.add(span);
+            return;
+        }
+
+        // background threads know neither the method nor the class, the isolated drone point knows its class
+        ClassEntry testClass = currentClass.get();
+        if (testClass == null && dronePoint instanceof DronePointImpl) {
+            testClass = runningClasses.get(((DronePointImpl<?>) dronePoint).getTestClass());
+        }
+        if (testClass != null) {
+            testClass.spans.add(span);
+        } else {
+            suiteSpans.add(span);
+        }
+    }
+
+    static long droneTime(List<Span> spans) {
+        long total = 0;
+        for (Span span : spans) {
+            total += span.duration();
+        }
+        return total;
+    }
+
+    static class ClassEntry {
+        final String name;
+        final long start;
+        long end = -1;
+        final List<MethodEntry> methods = new ArrayList<MethodEntry>();
+        final List<Span> spans = new ArrayList<Span>();
+
+        ClassEntry(String name, long start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        long droneTime() {
+            long total = DroneTimeline.droneTime(spans);
+            for (MethodEntry method : methods) {
+                total += DroneTimeline.droneTime(method.spans);
+            }
+            return total;
+        }
+    }
+
+    static class MethodEntry {
+        final String name;
+        final long start;
+        long bodyStart = -1;
+        long bodyEnd = -1;
+        long end = -1;
+        final List<Span> spans = new ArrayList<Span>();
+
+        MethodEntry(String name, long start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        /**
+         * Time spent in the test body, drones lazily instantiated while the test was running are not counted in
+         */
+        long bodyTime() {
+            if (bodyStart < 0 || bodyEnd < 0) {
+                return 0;
+            }
+            long body = bodyEnd - bodyStart;
+            for (Span span : spans) {
+                if (span.start >= bodyStart && span.end <= bodyEnd) {
+                    body -= span.duration();
+                }
+            }
+            return Math.max(0, body);
+        }
+    }
+
+    static class Span {
+        final String phase;
+        final String dronePoint;
+        final String droneType;
+        final String qualifier;
+        final DronePoint.Lifecycle lifecycle;
+        final long start;
+        final long end;
+
+        Span(String phase, String dronePoint, String droneType, String qualifier, DronePoint.Lifecycle lifecycle,
+            long start, long end) {
+            this.phase = phase;
+            this.dronePoint = dronePoint;
+            this.droneType = droneType;
+            this.qualifier = qualifier;
+            this.lifecycle = lifecycle;
+            this.start = start;
+            this.end = end;
+        }
+
+        long duration() {
+            return end - start;
+        }
+    }
+}
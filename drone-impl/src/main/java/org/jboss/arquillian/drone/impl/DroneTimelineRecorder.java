@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Records the {@link DroneTimeline} of the suite if {@code reportTimeline} is enabled and writes it into
+ * {@code target/drone} at the end of the suite. Spans of Drone life cycle phases are added by
+ * {@link DroneMetricsRecorder}, this observer adds the boundaries of test classes, methods and bodies and the post
+ * instantiation span covering observers of {@link AfterDroneInstantiated}, e.g. enhancement and window resizing.
+ * <p/>
+ * <p>
+ * Observes:
+ * </p>
+ * {@link BeforeSuite} {@link BeforeClass} {@link Before} {@link After} {@link AfterClass} {@link AfterSuite}
+ * {@link AfterDroneInstantiated}
+ */
+public class DroneTimelineRecorder {
+    private static final Logger log = Logger.getLogger(DroneTimelineRecorder.class.getName());
+
+    private static final int FIRST = 1000;
+
+    private static final int LAST = -1000;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<DroneTimeline> droneTimeline;
+
+    @Inject
+    private Instance<DroneContext> droneContext;
+
+    private final ThreadLocal<Long> postInstantiationStart = new ThreadLocal<Long>();
+
+    /**
+     * Starts the timeline once the global configuration is available
+     */
+    public void startTimeline(@Observes(precedence = -10) BeforeSuite event) {
+        DroneContext context = droneContext.get();
+        GlobalDroneConfiguration configuration =
+            context == null ? null : context.getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        if (configuration != null && configuration.isReportTimeline() && droneTimeline.get() == null) {
+            droneTimeline.set(new DroneTimeline());
+        }
+    }
+
+    public void classStarted(@Observes(precedence = FIRST) BeforeClass event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.classStarted(event.getTestClass().getJavaClass());
+        }
+    }
+
+    public void classFinished(@Observes(precedence = LAST) AfterClass event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.classFinished(event.getTestClass().getJavaClass());
+        }
+    }
+
+    public void methodStarted(@Observes(precedence = FIRST) Before event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.methodStarted(event.getTestClass().getJavaClass(), event.getTestMethod());
+        }
+    }
+
+    public void bodyStarted(@Observes(precedence = LAST) Before event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.bodyStarted();
+        }
+    }
+
+    public void bodyFinished(@Observes(precedence = FIRST) After event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.bodyFinished();
+        }
+    }
+
+    public void methodFinished(@Observes(precedence = LAST) After event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline != null) {
+            timeline.methodFinished();
+        }
+    }
+
+    public void postInstantiationStarted(@Observes(precedence = FIRST) AfterDroneInstantiated event) {
+        if (droneTimeline.get() != null) {
+            postInstantiationStart.set(System.nanoTime());
+        }
+    }
+
+    public void postInstantiationFinished(@Observes(precedence = LAST) AfterDroneInstantiated event) {
+        DroneTimeline timeline = droneTimeline.get();
+        Long start = postInstantiationStart.get();
+        postInstantiationStart.remove();
+        if (timeline != null && start != null) {
+            timeline.span(DroneTimeline.POST_INSTANTIATION, event.getDronePoint(), start, System.nanoTime());
+        }
+    }
+
+    /**
+     * Writes the timeline after all drones were destroyed and the metrics were exported
+     */
+    public void writeTimeline(@Observes(precedence = -110) AfterSuite event) {
+        DroneTimeline timeline = droneTimeline.get();
+        if (timeline == null) {
+            return;
+        }
+        File directory = new File(SecurityActions.getProperty("user.dir"), "target" + File.separator + "drone");
+        try {
+            new DroneTimelineWriter(timeline).write(directory);
+            log.log(Level.INFO, "Drone timeline was written into {0}", directory);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Unable to write Drone timeline into " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.drone.impl.DroneTimeline.ClassEntry;
+import org.jboss.arquillian.drone.impl.DroneTimeline.MethodEntry;
+import org.jboss.arquillian.drone.impl.DroneTimeline.Span;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+
+/**
+ * Writes the {@link DroneTimeline} as a JSON document and a human readable summary. The summary lists the Drone
+ * overhead of each test class and method, the slowest drone points and an estimate of the time that could be saved if
+ * each of them was instantiated only once, e.g. by using the suite life cycle.
+ */
+class DroneTimelineWriter {
+
+    static final String TIMELINE_FILE = "drone-timeline.json";
+
+    static final String SUMMARY_FILE = "drone-timeline-summary.txt";
+
+    private static final int SLOWEST_DRONE_POINTS = 10;
+
+    private final DroneTimeline timeline;
+
+    DroneTimelineWriter(DroneTimeline timeline) {
+        this.timeline = timeline;
+    }
+
+    void write(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+        synchronized (timeline) {
+            PrintWriter json = open(new File(directory, TIMELINE_FILE));
+            try {
+                writeJson(json);
+            } finally {
+                json.close();
+            }
+            PrintWriter summary = open(new File(directory, SUMMARY_FILE));
+            try {
+                writeSummary(summary);
+            } finally {
+                summary.close();
+            }
+        }
+    }
+
+    void writeJson(PrintWriter out) {
+        out.println("{");
+        out.print("  \"classes\": [");
+        for (int i = 0; i < timeline.classes.size(); i++) {
+            ClassEntry testClass = timeline.classes.get(i);
+            out.print(i == 0 ? "\n" : ",\n");
+            out.println("    {");
+            out.println("      \"name\": " + quote(testClass.name) + ",");
+            out.println("      \"start\": " + offset(testClass.start) + ",");
+            out.println("      \"duration\": " + millis(duration(testClass.start, testClass.end)) + ",");
+            out.println("      \"droneTime\": " + millis(testClass.droneTime()) + ",");
+            out.print("      \"methods\": [");
+            for (int j = 0; j < testClass.methods.size(); j++) {
+                MethodEntry method = testClass.methods.get(j);
+                out.print(j == 0 ? "\n" : ",\n");
+                out.println("        {");
+                out.println("          \"name\": " + quote(method.name) + ",");
+                out.println("          \"start\": " + offset(method.start) + ",");
+                out.println("          \"duration\": " + millis(duration(method.start, method.end)) + ",");
+                out.println("          \"droneTime\": " + millis(DroneTimeline.droneTime(method.spans)) + ",");
+                out.println("          \"bodyTime\": " + millis(method.bodyTime()) + ",");
+                writeSpans(out, method.spans, "          ");
+                out.print("\n        }");
+            }
+            out.println(testClass.methods.isEmpty() ? "]," : "\n      ],");
+            writeSpans(out, testClass.spans, "      ");
+            out.print("\n    }");
+        }
+        out.println(timeline.classes.isEmpty() ? "]," : "\n  ],");
+        writeSpans(out, timeline.suiteSpans, "  ");
+        out.println();
+        out.println("}");
+    }
+
+    private void writeSpans(PrintWriter out, List<Span> spans, String indent) {
+        out.print(indent + "\"spans\": [");
+        for (int i = 0; i < spans.size(); i++) {
+            Span span = spans.get(i);
+            out.print(i == 0 ? "\n" : ",\n");
+            out.print(indent + "  {\"phase\": " + quote(span.phase)
+                + ", \"dronePoint\": " + quote(span.dronePoint)
+                + ", \"droneType\": " + quote(span.droneType)
+                + ", \"qualifier\": " + quote(span.qualifier)
+                + ", \"lifecycle\": " + quote(span.lifecycle.name())
+                + ", \"start\": " + offset(span.start)
+                + ", \"duration\": " + millis(span.duration()) + "}");
+        }
+        out.print(spans.isEmpty() ? "]" : "\n" + indent + "]");
+    }
+
+    void writeSummary(PrintWriter out) {
+        String testRow = "%-70s %12s %12s %12s %8s%n";
+        out.println("Drone overhead per test, times in milliseconds");
+        out.println();
+        out.printf(Locale.ROOT, testRow, "Test", "Total", "Drone", "Body", "Drone %");
+        long totalDrone = DroneTimeline.droneTime(timeline.suiteSpans);
+        long totalBody = 0;
+        for (ClassEntry testClass : timeline.classes) {
+            long classBody = 0;
+            for (MethodEntry method : testClass.methods) {
+                classBody += method.bodyTime();
+            }
+            long classTotal = duration(testClass.start, testClass.end);
+            long classDrone = testClass.droneTime();
+            out.printf(Locale.ROOT, testRow, testClass.name, millis(classTotal), millis(classDrone),
+                millis(classBody), percent(classDrone, classTotal));
+            for (MethodEntry method : testClass.methods) {
+                long methodTotal = duration(method.start, method.end);
+                long methodDrone = DroneTimeline.droneTime(method.spans);
+                out.printf(Locale.ROOT, testRow, "  " + method.name, millis(methodTotal), millis(methodDrone),
+                    millis(method.bodyTime()), percent(methodDrone, methodTotal));
+            }
+            totalDrone += classDrone;
+            totalBody += classBody;
+        }
+
+        List<DronePointSummary> dronePoints = summarizeDronePoints();
+        long totalSaving = 0;
+        for (DronePointSummary dronePoint : dronePoints) {
+            totalSaving += dronePoint.poolingSaving();
+        }
+
+        String dronePointRow = "%-70s %-10s %9s %12s %12s %12s %12s%n";
+        out.println();
+        out.println("Slowest drone points, times in milliseconds");
+        out.println();
+        out.printf(Locale.ROOT, dronePointRow, "Drone point", "Lifecycle", "Instances", "Setup", "Teardown",
+            "Total", "Reuse saving");
+        for (DronePointSummary dronePoint : dronePoints.subList(0, Math.min(SLOWEST_DRONE_POINTS,
+            dronePoints.size()))) {
+            out.printf(Locale.ROOT, dronePointRow, dronePoint.name, dronePoint.lifecycle, dronePoint.instances,
+                millis(dronePoint.setup), millis(dronePoint.teardown), millis(dronePoint.total()),
+                millis(dronePoint.poolingSaving()));
+        }
+
+        out.println();
+        out.printf(Locale.ROOT, "Drone time: %s ms, test body time: %s ms, potential saving by pooling or reuse: %s ms%n",
+            millis(totalDrone), millis(totalBody), millis(totalSaving));
+    }
+
+    private List<DronePointSummary> summarizeDronePoints() {
+        Map<String, DronePointSummary> summaries = new LinkedHashMap<String, DronePointSummary>();
+        List<Span> spans = new ArrayList<Span>(timeline.suiteSpans);
+        for (ClassEntry testClass : timeline.classes) {
+            spans.addAll(testClass.spans);
+            for (MethodEntry method : testClass.methods) {
+                spans.addAll(method.spans);
+            }
+        }
+        for (Span span : spans) {
+            DronePointSummary summary = summaries.get(span.dronePoint);
+            if (summary == null) {
+                summary = new DronePointSummary(span.droneType + " @" + span.qualifier, span.lifecycle);
+                summaries.put(span.dronePoint, summary);
+            }
+            summary.add(span);
+        }
+
+        List<DronePointSummary> result = new ArrayList<DronePointSummary>(summaries.values());
+        Collections.sort(result, new Comparator<DronePointSummary>() {
+            @Override
+            public int compare(DronePointSummary first, DronePointSummary second) {
+                return Long.compare(second.total(), first.total());
+            }
+        });
+        return result;
+    }
+
+    private String offset(long time) {
+        return millis(time - timeline.start);
+    }
+
+    private static long duration(long start, long end) {
+        return end < 0 ? 0 : end - start;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String percent(long part, long whole) {
+        return whole <= 0 ? "-" : String.format(Locale.ROOT, "%.1f", 100.0 * part / whole);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static PrintWriter open(File file) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+
+    private static class DronePointSummary {
+        private final String name;
+        private final DronePoint.Lifecycle lifecycle;
+        private int instances;
+        private long setup;
+        private long teardown;
+        private long browser;
+
+        DronePointSummary(String name, DronePoint.Lifecycle lifecycle) {
+            this.name = name;
+            this.lifecycle = lifecycle;
+        }
+
+        void add(Span span) {
+            if (DronePhase.INSTANTIATE.name().equals(span.phase)) {
+                instances++;
+            }
+            if (DronePhase.DEENHANCE.name().equals(span.phase) || DronePhase.DESTROY.name().equals(span.phase)) {
+                teardown += span.duration();
+            } else {
+                setup += span.duration();
+            }
+            if (!DronePhase.PREPARE.name().equals(span.phase)) {
+                browser += span.duration();
+            }
+        }
+
+        long total() {
+            return setup + teardown;
+        }
+
+        /**
+         * Starting and disposing all but one instance could be saved if the instance was reused
+         */
+        long poolingSaving() {
+            if (lifecycle == DronePoint.Lifecycle.SUITE || instances < 2) {
+                return 0;
+            }
+            return browser - browser / instances;
+        }
+    }
+}
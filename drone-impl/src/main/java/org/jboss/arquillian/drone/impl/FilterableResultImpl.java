@@ -27,7 +27,9 @@ import org.jboss.arquillian.drone.spi.FilterableResult;
 public class FilterableResultImpl<DRONE> implements FilterableResult<DRONE> {
 
     private final DroneContext context;
-    private final Set<DronePoint<DRONE>> wrapped;
+    // type of all drone points from the context this result stands for, until the result is materialized
+    private final Class<DRONE> droneClass;
+    private Set<DronePoint<DRONE>> wrapped;
 
     public FilterableResultImpl(DroneContext context, Set<DronePoint<DRONE>> wrapped) {
         if (context == null) {
@@ -37,15 +39,44 @@ public class FilterableResultImpl<DRONE> implements FilterableResult<DRONE> {
             throw new IllegalArgumentException("Wrapped Set cannot be null!");
         }
         this.context = context;
+        this.droneClass = null;
         this.wrapped = wrapped;
     }
 
+    FilterableResultImpl(DroneContextImpl context, Class<DRONE> droneClass) {
+        this.context = context;
+        this.droneClass = droneClass;
+    }
+
     @Override
     public FilterableResult<DRONE> filter(DronePointFilter<? super DRONE> filter) {
         Set<DronePoint<DRONE>> dronePoints = new HashSet<DronePoint<DRONE>>();
-        for (DronePoint<DRONE> dronePoint : wrapped) {
-            if (filter.accepts(context, dronePoint)) {
-                dronePoints.add(dronePoint);
+
+        Set<DronePoint<?>> indexed = null;
+        if (context instanceof DroneContextImpl) {
+            indexed = ((DroneContextImpl) context).findIndexed(filter);
+        }
+
+        if (indexed == null) {
+            for (DronePoint<DRONE> dronePoint : getWrapped()) {
+                if (filter.accepts(context, dronePoint)) {
+                    dronePoints.add(dronePoint);
+                }
+            }
+        } else if (wrapped != null && wrapped.size() < indexed.size()) {
+            for (DronePoint<DRONE> dronePoint : wrapped) {
+                if (indexed.contains(dronePoint)) {
+                    dronePoints.add(dronePoint);
+                }
+            }
+        } else {
+            for (DronePoint<?> dronePoint : indexed) {
+                if (contains(dronePoint)) {
+                    @SuppressWarnings("unchecked")
+                    DronePoint<DRONE> castDronePoint = (DronePoint<DRONE>) dronePoint;
+
+                    dronePoints.add(castDronePoint);
+                }
             }
         }
 
@@ -59,7 +90,7 @@ public class FilterableResultImpl<DRONE> implements FilterableResult<DRONE> {
             StringBuilder builder = new StringBuilder("Total injection points matched not equal to 1! Actual count: ");
             builder.append(count).append(". Matched points: [ ");
             int i = 0;
-            for (DronePoint<DRONE> dronePoint : wrapped) {
+            for (DronePoint<DRONE> dronePoint : getWrapped()) {
                 if (i > 0) {
                     builder.append(", ");
                 }
@@ -69,16 +100,30 @@ public class FilterableResultImpl<DRONE> implements FilterableResult<DRONE> {
             builder.append(" ]");
             throw new IllegalStateException(builder.toString());
         }
-        return wrapped.iterator().next();
+        return getWrapped().iterator().next();
     }
 
     @Override
     public int size() {
-        return wrapped.size();
+        return getWrapped().size();
     }
 
     @Override
     public Iterator<DronePoint<DRONE>> iterator() {
-        return wrapped.iterator();
+        return getWrapped().iterator();
+    }
+
+    private boolean contains(DronePoint<?> dronePoint) {
+        if (wrapped == null) {
+            return dronePoint.conformsTo(droneClass);
+        }
+        return wrapped.contains(dronePoint);
+    }
+
+    private Set<DronePoint<DRONE>> getWrapped() {
+        if (wrapped == null) {
+            wrapped = ((DroneContextImpl) context).findAll(droneClass);
+        }
+        return wrapped;
     }
 }
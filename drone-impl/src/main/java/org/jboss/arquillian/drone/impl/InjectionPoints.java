@@ -19,107 +19,152 @@ package org.jboss.arquillian.drone.impl;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.jboss.arquillian.container.test.api.OperateOnDeployment;
 import org.jboss.arquillian.drone.api.annotation.Drone;
 import org.jboss.arquillian.drone.api.annotation.lifecycle.ClassLifecycle;
 import org.jboss.arquillian.drone.api.annotation.lifecycle.MethodLifecycle;
+import org.jboss.arquillian.drone.api.annotation.lifecycle.SuiteLifecycle;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
 import org.jboss.arquillian.drone.spi.deployment.DeploymentNameKey;
 
 // FIXME make this class not static and do the API a better way
 final class InjectionPoints {
 
+    // Reflective scanning is done only once per class, lifecycle events only register the cached drone points. The
+    // cached values never reference other test classes and are dropped once the class is finished, see forget(Class)
+    private static final ClassValue<ClassInjectionPoints> CLASS_INJECTION_POINTS =
+        new ClassValue<ClassInjectionPoints>() {
+            @Override
+            protected ClassInjectionPoints computeValue(Class<?> type) {
+                return new ClassInjectionPoints(type);
+            }
+        };
+
+    // Keyed by the declaring class of the method so the cached entries do not outlive the class
+    private static final ClassValue<ConcurrentMap<Method, InjectionPoint<?>[]>> METHOD_INJECTION_POINTS =
+        new ClassValue<ConcurrentMap<Method, InjectionPoint<?>[]>>() {
+            @Override
+            protected ConcurrentMap<Method, InjectionPoint<?>[]> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<Method, InjectionPoint<?>[]>();
+            }
+        };
+
     private InjectionPoints() {
     }
 
+    /**
+     * Drops the injection points cached for the given class, so the cache does not keep the class and its fields
+     * reachable once it was run
+     */
+    static void forget(Class<?> cls) {
+        CLASS_INJECTION_POINTS.remove(cls);
+        METHOD_INJECTION_POINTS.remove(cls);
+    }
+
     static Set<DronePoint<?>> allInClass(DroneContext context, Class<?> cls) {
-        List<DronePoint<?>> dronePoints = new ArrayList<DronePoint<?>>();
+        Collection<InjectionPoint<?>> injectionPoints = CLASS_INJECTION_POINTS.get(cls).getAll();
+        Set<DronePoint<?>> dronePoints = new HashSet<DronePoint<?>>(injectionPoints.size());
+        Class<?> testClass = isolatingTestClass(context, cls);
 
-        dronePoints.addAll(fieldsInClass(context, cls).values());
-        for (DronePoint<?>[] methodDronePoints : parametersInClass(context, cls).values()) {
-            for (DronePoint<?> dronePoint : methodDronePoints) {
-                if (dronePoint == null) {
-                    continue;
-                }
-                dronePoints.add(dronePoint);
-            }
+        for (InjectionPoint<?> injectionPoint : injectionPoints) {
+            dronePoints.add(injectionPoint.register(context, testClass));
         }
 
-        // We want no duplicates
-        return new HashSet<DronePoint<?>>(dronePoints);
+        return dronePoints;
     }
 
     static Map<Field, DronePoint<?>> fieldsInClass(DroneContext context, Class<?> cls) {
-        Map<Field, DronePoint<?>> injectionPoints = new HashMap<Field, DronePoint<?>>();
-        List<Field> fields = SecurityActions.getFieldsWithAnnotation(cls, Drone.class);
-
-        for (Field field : fields) {
-            DronePoint<?> dronePoint = resolveInjectionPoint(context, field);
+        Map<Field, InjectionPoint<?>> fields = CLASS_INJECTION_POINTS.get(cls).getFields();
+        Map<Field, DronePoint<?>> injectionPoints = new LinkedHashMap<Field, DronePoint<?>>(fields.size());
+        Class<?> testClass = isolatingTestClass(context, cls);
 
-            injectionPoints.put(field, dronePoint);
+        for (Map.Entry<Field, InjectionPoint<?>> entry : fields.entrySet()) {
+            injectionPoints.put(entry.getKey(), entry.getValue().register(context, testClass));
         }
 
         return injectionPoints;
     }
 
-    static Map<Method, DronePoint<?>[]> parametersInClass(DroneContext context, Class<?> cls) {
-        Map<Method, DronePoint<?>[]> mergedInjectionPoints = new HashMap<Method, DronePoint<?>[]>();
-        Method[] methods = cls.getMethods();
-        for (Method method : methods) {
-            DronePoint<?>[] dronePoints = parametersInMethod(context, method);
-
-            mergedInjectionPoints.put(method, dronePoints);
-        }
-
-        return mergedInjectionPoints;
+    static DronePoint<?>[] parametersInMethod(DroneContext context, Method method) {
+        return parametersInMethod(context, method, method.getDeclaringClass());
     }
 
-    static DronePoint<?>[] parametersInMethod(DroneContext context, Method method) {
-        Class<?>[] parameters = method.getParameterTypes();
-        Map<Integer, Annotation[]> droneParameters = SecurityActions.getParametersWithAnnotation(method, Drone.class);
+    /**
+     * Returns drone points of the parameters of the given method, the method might be declared by a superclass of the
+     * given test class
+     */
+    static DronePoint<?>[] parametersInMethod(DroneContext context, Method method, Class<?> cls) {
+        InjectionPoint<?>[] parameters = parametersInMethod(method);
         DronePoint<?>[] dronePoints = new DronePoint<?>[parameters.length];
+        Class<?> testClass = isolatingTestClass(context, cls);
 
         for (int i = 0; i < parameters.length; i++) {
-            if (!droneParameters.containsKey(i)) {
-                dronePoints[i] = null;
-                continue;
+            if (parameters[i] != null) {
+                dronePoints[i] = parameters[i].register(context, testClass);
             }
-
-            Annotation[] parameterAnnotations = droneParameters.get(i);
-
-            Class<?> droneType = parameters[i];
-
-            DronePoint<?> dronePoint = resolveInjectionPoint(context, droneType, parameterAnnotations);
-
-            dronePoints[i] = dronePoint;
         }
 
         return dronePoints;
     }
 
-    static DronePoint<?> resolveInjectionPoint(DroneContext context, Field field) {
+    /**
+     * Returns the number of public methods of the given class declaring the given drone point as a parameter
+     */
+    static int methodsDeclaring(Class<?> cls, DronePoint<?> dronePoint) {
+        DronePoint<?> shared = dronePoint instanceof DronePointImpl ? ((DronePointImpl<?>) dronePoint).shared()
+            : dronePoint;
+        Integer methods = CLASS_INJECTION_POINTS.get(cls).getMethodCounts().get(shared);
+        return methods != null ? methods : 0;
+    }
 
-        Class<?> droneType = field.getType();
-        Annotation[] annotations = SecurityActions.getAnnotations(field);
+    /**
+     * Returns the given test class if the drone points should be isolated in it, null otherwise
+     */
+    private static Class<?> isolatingTestClass(DroneContext context, Class<?> cls) {
+        DroneLifecycleManager.GlobalDroneConfiguration configuration =
+            context.getGlobalDroneConfiguration(DroneLifecycleManager.GlobalDroneConfiguration.class);
+        return configuration != null && configuration.isIsolateTestClasses() ? cls : null;
+    }
 
-        return createInjectionPoint(context, droneType, annotations, DronePoint.Lifecycle.CLASS);
+    private static InjectionPoint<?>[] parametersInMethod(Method method) {
+        ConcurrentMap<Method, InjectionPoint<?>[]> cache = METHOD_INJECTION_POINTS.get(method.getDeclaringClass());
+        InjectionPoint<?>[] parameters = cache.get(method);
+        if (parameters == null) {
+            parameters = scanParameters(method);
+            InjectionPoint<?>[] existing = cache.putIfAbsent(method, parameters);
+            if (existing != null) {
+                parameters = existing;
+            }
+        }
+        return parameters;
     }
 
-    static <T> DronePoint<T> resolveInjectionPoint(DroneContext context, Class<T> droneType,
-        Annotation[] parameterAnnotations) {
-        return createInjectionPoint(context, droneType, parameterAnnotations, DronePoint.Lifecycle.METHOD);
+    private static InjectionPoint<?>[] scanParameters(Method method) {
+        Class<?>[] parameters = method.getParameterTypes();
+        Map<Integer, Annotation[]> droneParameters = SecurityActions.getParametersWithAnnotation(method, Drone.class);
+        InjectionPoint<?>[] injectionPoints = new InjectionPoint[parameters.length];
+
+        for (Map.Entry<Integer, Annotation[]> entry : droneParameters.entrySet()) {
+            int i = entry.getKey();
+            injectionPoints[i] = createInjectionPoint(parameters[i], entry.getValue(), DronePoint.Lifecycle.METHOD);
+        }
+
+        return injectionPoints;
     }
 
     // We can't instantiate class with wildcard generic parameter directly, so we delegate it through parameter <T>
-    static <T> DronePoint<T> createInjectionPoint(DroneContext context, Class<T> droneType,
-        Annotation[] annotations,
+    private static <T> InjectionPoint<T> createInjectionPoint(Class<T> droneType, Annotation[] annotations,
         DronePoint.Lifecycle defaultLifecycle) {
         Class<? extends Annotation> scopeAnnotation = SecurityActions.getScope(annotations);
         OperateOnDeployment operateOnDeployment = SecurityActions.findAnnotation(annotations,
@@ -127,14 +172,9 @@ final class InjectionPoints {
 
         DronePoint.Lifecycle lifecycle = scopeForAnnotation(scopeAnnotation, operateOnDeployment, defaultLifecycle);
 
-        DronePoint<T> dronePoint = new DronePointImpl<T>(droneType, lifecycle, annotations);
-        // We register the drone point into context immediately
-        context.get(dronePoint);
-        if (lifecycle == DronePoint.Lifecycle.DEPLOYMENT) {
-            String deployment = operateOnDeployment.value();
-            context.get(dronePoint).setMetadata(DeploymentNameKey.class, deployment);
-        }
-        return dronePoint;
+        DronePointImpl<T> dronePoint = new DronePointImpl<T>(droneType, lifecycle, annotations);
+        String deployment = lifecycle == DronePoint.Lifecycle.DEPLOYMENT ? operateOnDeployment.value() : null;
+        return new InjectionPoint<T>(dronePoint, deployment);
     }
 
     static DronePoint.Lifecycle scopeForAnnotation(Class<? extends Annotation> annotation,
@@ -144,6 +184,8 @@ final class InjectionPoints {
             return DronePoint.Lifecycle.CLASS;
         } else if (annotation == MethodLifecycle.class) {
             return DronePoint.Lifecycle.METHOD;
+        } else if (annotation == SuiteLifecycle.class) {
+            return DronePoint.Lifecycle.SUITE;
         } else {
             if (deployment != null) {
                 return DronePoint.Lifecycle.DEPLOYMENT;
@@ -152,4 +194,98 @@ final class InjectionPoints {
             }
         }
     }
+
+    /**
+     * Drone point resolved from a field or a parameter together with the name of the deployment it is tied to
+     */
+    private static final class InjectionPoint<T> {
+
+        private final DronePointImpl<T> dronePoint;
+        private final String deployment;
+
+        InjectionPoint(DronePointImpl<T> dronePoint, String deployment) {
+            this.dronePoint = dronePoint;
+            this.deployment = deployment;
+        }
+
+        DronePoint<T> register(DroneContext context, Class<?> testClass) {
+            DronePoint<T> dronePoint = isolatedIn(testClass);
+
+            // We register the drone point into context immediately
+            DronePointContext<T> dronePointContext = context.get(dronePoint);
+            if (deployment != null) {
+                dronePointContext.setMetadata(DeploymentNameKey.class, deployment);
+            }
+            return dronePoint;
+        }
+
+        /**
+         * Returns the drone point isolated in the given test class. The deployment drones are shared by definition.
+         * The suite ones are isolated as well, otherwise a test class finishing first would release the drone still
+         * used by the others; they are shared through the {@link DronePool} instead. The isolated drone point is not
+         * cached, as the injection points of a superclass would keep the test class reachable otherwise.
+         */
+        private DronePoint<T> isolatedIn(Class<?> testClass) {
+            DronePoint.Lifecycle lifecycle = dronePoint.getLifecycle();
+            if (testClass == null || lifecycle == DronePoint.Lifecycle.DEPLOYMENT) {
+                return dronePoint;
+            }
+
+            return new DronePointImpl<T>(dronePoint.getDroneType(), lifecycle, testClass, dronePoint.getAnnotations());
+        }
+    }
+
+    /**
+     * Injection points of a class, computed once per class
+     */
+    private static final class ClassInjectionPoints {
+
+        private final Map<Field, InjectionPoint<?>> fields;
+        private final Collection<InjectionPoint<?>> all;
+        // number of methods declaring each of the parameter drone points
+        private final Map<DronePoint<?>, Integer> methodCounts;
+
+        ClassInjectionPoints(Class<?> cls) {
+            Map<Field, InjectionPoint<?>> fields = new LinkedHashMap<Field, InjectionPoint<?>>();
+            for (Field field : SecurityActions.getFieldsWithAnnotation(cls, Drone.class)) {
+                fields.put(field, createInjectionPoint(field.getType(), SecurityActions.getAnnotations(field),
+                    DronePoint.Lifecycle.CLASS));
+            }
+            this.fields = Collections.unmodifiableMap(fields);
+
+            // We want no duplicates
+            Map<DronePoint<?>, InjectionPoint<?>> all = new LinkedHashMap<DronePoint<?>, InjectionPoint<?>>();
+            for (InjectionPoint<?> injectionPoint : fields.values()) {
+                all.put(injectionPoint.dronePoint, injectionPoint);
+            }
+            Map<DronePoint<?>, Integer> methodCounts = new HashMap<DronePoint<?>, Integer>();
+            for (Method method : cls.getMethods()) {
+                Set<DronePoint<?>> declared = new HashSet<DronePoint<?>>();
+                for (InjectionPoint<?> injectionPoint : parametersInMethod(method)) {
+                    if (injectionPoint != null) {
+                        all.put(injectionPoint.dronePoint, injectionPoint);
+                        declared.add(injectionPoint.dronePoint);
+                    }
+                }
+                for (DronePoint<?> dronePoint : declared) {
+                    Integer count = methodCounts.get(dronePoint);
+                    methodCounts.put(dronePoint, count != null ? count + 1 : 1);
+                }
+            }
+            this.all = Collections.unmodifiableCollection(all.values());
+            this.methodCounts = Collections.unmodifiableMap(methodCounts);
+        }
+
+        Map<Field, InjectionPoint<?>> getFields() {
+            return fields;
+        }
+
+        Collection<InjectionPoint<?>> getAll() {
+            return all;
+        }
+
+        Map<DronePoint<?>, Integer> getMethodCounts() {
+            return methodCounts;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.InstanceInterfaces;
+
+/**
+ * Proxy injected instead of a drone if the lazy injection is enabled. The drone is retrieved from the
+ * {@link DroneContext} by every method invocation, so it is instantiated by the first one. Methods of {@link Object}
+ * are answered by the proxy itself, so e.g. a debugger displaying the field does not start a browser.
+ * <p/>
+ * A proxy can be created only for an interface. Besides that interface, it implements the interfaces declared by the
+ * instantiator of the drone, see {@link InstanceInterfaces}. Once the drone was destroyed, the proxy does not start a
+ * new one but throws an {@link IllegalStateException}.
+ */
+final class LazyDroneProxy implements InvocationHandler {
+
+    private final DroneContext context;
+    private final DronePoint<?> dronePoint;
+    // the context the drone is prepared in, the drone is destroyed once it is removed
+    private final DronePointContext<?> pointContext;
+
+    private LazyDroneProxy(DroneContext context, DronePoint<?> dronePoint) {
+        this.context = context;
+        this.dronePoint = dronePoint;
+        this.pointContext = context.get(dronePoint);
+    }
+
+    /**
+     * Creates a proxy of the given type delegating to the drone of the given drone point
+     *
+     * @param interfaces
+     *     Additional interfaces of the drone, the ones which are not interfaces are ignored
+     *
+     * @return the proxy or {@code null} if the type is not an interface
+     */
+    static Object create(DroneContext context, DronePoint<?> dronePoint, Class<?> type, Class<?>... interfaces) {
+        if (!type.isInterface()) {
+            return null;
+        }
+
+        Set<Class<?>> proxied = new LinkedHashSet<Class<?>>();
+        proxied.add(type);
+        for (Class<?> candidate : interfaces) {
+            if (candidate.isInterface()) {
+                proxied.add(candidate);
+            }
+        }
+
+        LazyDroneProxy handler = new LazyDroneProxy(context, dronePoint);
+        try {
+            return Proxy.newProxyInstance(type.getClassLoader(), proxied.toArray(new Class<?>[proxied.size()]),
+                handler);
+        } catch (IllegalArgumentException e) {
+            // some of the interfaces are not visible from the class loader of the type
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+
+        if (!context.contains(dronePoint) || context.get(dronePoint) != pointContext) {
+            throw new IllegalStateException("Drone " + dronePoint + " was already destroyed, it cannot be used by "
+                + method.getDeclaringClass().getName() + "." + method.getName() + "()");
+        }
+
+        Object drone = pointContext.getInstance();
+        if (!method.getDeclaringClass().isInstance(drone)) {
+            throw new UnsupportedOperationException("Drone " + dronePoint + " of type " + drone.getClass().getName()
+                + " does not implement " + method.getDeclaringClass().getName());
+        }
+        try {
+            return method.invoke(drone, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        }
+        return "Lazy drone " + dronePoint;
+    }
+}
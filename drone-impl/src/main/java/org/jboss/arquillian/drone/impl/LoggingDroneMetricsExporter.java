@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.drone.impl.DroneLifecycleManager.GlobalDroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.metrics.DroneLatencyHistogram;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetrics;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetricsExporter;
+
+/**
+ * Writes a table of the recorded latencies into the log. The report is logged on {@link Level#INFO} if
+ * {@code reportLifecycleMetrics} is enabled, on {@link Level#FINE} otherwise.
+ */
+public class LoggingDroneMetricsExporter implements DroneMetricsExporter {
+    private static final Logger log = Logger.getLogger(LoggingDroneMetricsExporter.class.getName());
+
+    private static final String ROW_FORMAT = "%-50s %-20s %-12s %6s %10s %10s %10s %10s %10s%n";
+
+    @Inject
+    private Instance<DroneContext> droneContext;
+
+    @Override
+    public void export(DroneMetrics metrics) {
+        Level level = isReportEnabled() ? Level.INFO : Level.FINE;
+        List<DroneLatencyHistogram> histograms = metrics.getHistograms();
+        if (histograms.isEmpty() || !log.isLoggable(level)) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder("Drone life cycle latencies in milliseconds:\n");
+        report.append(String.format(ROW_FORMAT, "Drone", "Qualifier", "Phase", "Count", "Total", "Mean", "p50",
+            "p95", "Max"));
+        for (DroneLatencyHistogram histogram : histograms) {
+            report.append(String.format(ROW_FORMAT,
+                histogram.getDroneType().getName(),
+                histogram.getQualifier().getSimpleName(),
+                histogram.getPhase(),
+                histogram.getCount(),
+                histogram.getTotal(TimeUnit.MILLISECONDS),
+                histogram.getMean(TimeUnit.MILLISECONDS),
+                histogram.getPercentile(50, TimeUnit.MILLISECONDS),
+                histogram.getPercentile(95, TimeUnit.MILLISECONDS),
+                histogram.getMax(TimeUnit.MILLISECONDS)));
+        }
+        log.log(level, report.toString());
+    }
+
+    private boolean isReportEnabled() {
+        DroneContext context = droneContext.get();
+        if (context == null) {
+            return false;
+        }
+        GlobalDroneConfiguration configuration =
+            context.getGlobalDroneConfiguration(GlobalDroneConfiguration.class);
+        return configuration != null && configuration.isReportLifecycleMetrics();
+    }
+}
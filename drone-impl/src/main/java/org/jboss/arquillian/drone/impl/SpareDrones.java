@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.Instantiator;
+
+/**
+ * Drones with {@link DronePoint.Lifecycle#METHOD} lifecycle instantiated ahead of time. While a test method runs, a
+ * spare drone is started for each of its method scoped drone points, so the next test method declaring the same
+ * {@link DronePoint} picks an already running drone up.
+ * <p/>
+ * Spare drones which were not picked up until the end of the test class have to be destroyed, see {@link #drain()}.
+ */
+public class SpareDrones {
+
+    private final Class<?> testClass;
+    private final Map<DronePoint<?>, SpareDrone<?>> spareDrones;
+    // number of instantiations of each drone point in the test class, spare drones included
+    private final Map<DronePoint<?>, Integer> instantiations;
+
+    /**
+     * @param testClass
+     *     the test class the spare drones are started for, {@code null} if it is not known
+     */
+    public SpareDrones(Class<?> testClass) {
+        this.testClass = testClass;
+        this.spareDrones = new HashMap<DronePoint<?>, SpareDrone<?>>();
+        this.instantiations = new HashMap<DronePoint<?>, Integer>();
+    }
+
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Records an instantiation of the given {@link DronePoint}
+     *
+     * @return how many times the drone point was instantiated in the test class so far
+     */
+    synchronized int instantiated(DronePoint<?> dronePoint) {
+        Integer count = instantiations.get(dronePoint);
+        count = count != null ? count + 1 : 1;
+        instantiations.put(dronePoint, count);
+        return count;
+    }
+
+    public synchronized boolean contains(DronePoint<?> dronePoint) {
+        return spareDrones.containsKey(dronePoint);
+    }
+
+    synchronized <DRONE> void add(SpareDrone<DRONE> spareDrone) {
+        spareDrones.put(spareDrone.getDronePoint(), spareDrone);
+    }
+
+    /**
+     * Takes a spare drone for the given {@link DronePoint}
+     *
+     * @return a spare drone or {@code null} if there is no spare drone for the given {@link DronePoint}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <DRONE> SpareDrone<DRONE> take(DronePoint<DRONE> dronePoint) {
+        return (SpareDrone<DRONE>) spareDrones.remove(dronePoint);
+    }
+
+    /**
+     * Takes all spare drones
+     *
+     * @return all spare drones which were not taken
+     */
+    public synchronized List<SpareDrone<?>> drain() {
+        List<SpareDrone<?>> drained = new ArrayList<SpareDrone<?>>(spareDrones.values());
+        spareDrones.clear();
+        return drained;
+    }
+
+    public synchronized int size() {
+        return spareDrones.size();
+    }
+
+    /**
+     * A drone being instantiated in the background together with the configuration it is instantiated with
+     */
+    public static class SpareDrone<DRONE> {
+        private static final Logger log = Logger.getLogger(SpareDrone.class.getName());
+
+        private final DronePoint<DRONE> dronePoint;
+        private final DroneConfiguration<?> configuration;
+        private final Instantiator<DRONE, ?> instantiator;
+        private final Future<DRONE> instance;
+
+        SpareDrone(DronePoint<DRONE> dronePoint, DroneConfiguration<?> configuration,
+            Instantiator<DRONE, ?> instantiator, Future<DRONE> instance) {
+            this.dronePoint = dronePoint;
+            this.configuration = configuration;
+            this.instantiator = instantiator;
+            this.instance = instance;
+        }
+
+        public DronePoint<DRONE> getDronePoint() {
+            return dronePoint;
+        }
+
+        /**
+         * Waits for the spare drone to be instantiated
+         *
+         * @param timeoutInSeconds
+         *     how long to wait, {@code 0} waits until the instantiation finishes
+         *
+         * @return the instantiated drone or {@code null} if the instantiation failed or did not finish in time
+         */
+        DRONE await(int timeoutInSeconds) {
+            try {
+                return timeoutInSeconds > 0 ? instance.get(timeoutInSeconds, TimeUnit.SECONDS) : instance.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.log(Level.WARNING, "Spare drone for {0} was not instantiated, reason: {1}",
+                    new Object[] {dronePoint, e});
+            }
+            instance.cancel(true);
+            return null;
+        }
+
+        /**
+         * Stores the configuration and a future instance returning the spare drone into the given context. The
+         * instantiation events are fired as usual when the instance is retrieved, only the instantiation itself is
+         * already in progress. If the spare drone could not be instantiated, a new one is instantiated instead.
+         */
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        void restoreInto(DronePointContext<DRONE> pointContext) {
+            pointContext.setConfiguration((DroneConfiguration) configuration);
+            pointContext.setFutureInstance(new CachingCallableImpl<DRONE>() {
+                @Override
+                protected DRONE createInstance() throws Exception {
+                    try {
+                        return instance.get();
+                    } catch (ExecutionException e) {
+                        log.log(Level.WARNING, "Spare drone for {0} was not instantiated, instantiating a new one. "
+                            + "Reason: {1}", new Object[] {dronePoint, e.getCause()});
+                        return (DRONE) ((Instantiator) instantiator).createInstance(configuration);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl.jfr;
+
+import java.lang.reflect.Method;
+import org.jboss.arquillian.drone.spi.DroneConfiguration;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+
+/**
+ * Emits Java Flight Recorder events for phases of the Drone life cycle measured by the
+ * {@link org.jboss.arquillian.drone.impl.DroneMetricsRecorder}. An event begins when its phase is started and it is
+ * ended and committed once the phase is finished, so JFR tools show it in line with the rest of the recording.
+ * <p/>
+ * When the events are not enabled in any recording, nothing but the check whether they are enabled is done. The
+ * recorder can be created only if the JVM provides the {@code jdk.jfr} API, see {@link #JFR_EVENT_CLASS}.
+ */
+public class DroneFlightRecorder {
+
+    public static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+
+    static final String SUCCESS = "success";
+
+    static final String FAILURE = "failure";
+
+    private static final ClassValue<Method> BROWSER_GETTERS = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                Method getter = type.getMethod("getBrowser");
+                return getter.getReturnType() == String.class ? getter : null;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    /**
+     * Starts recording of a phase
+     *
+     * @return the recorded phase to be ended once the phase is finished, {@code null} if the event of the phase is not
+     * enabled in any recording
+     */
+    public RecordedDronePhase phaseStarted(DronePhase phase, DronePoint<?> dronePoint) {
+        DroneJfrEvent jfrEvent = eventOf(phase);
+        if (!jfrEvent.isEnabled()) {
+            return null;
+        }
+        jfrEvent.dronePoint = dronePoint.toString();
+        jfrEvent.lifecycle = dronePoint.getLifecycle().name();
+        jfrEvent.begin();
+        return new JfrRecordedDronePhase(jfrEvent, dronePoint);
+    }
+
+    private static DroneJfrEvent eventOf(DronePhase phase) {
+        switch (phase) {
+            case PREPARE:
+                return new DronePrepareEvent();
+            case INSTANTIATE:
+                return new DroneInstantiateEvent();
+            case ENHANCE:
+                return new DroneEnhanceEvent();
+            case DEENHANCE:
+                return new DroneDeenhanceEvent();
+            case DESTROY:
+                return new DroneDestroyEvent();
+            default:
+                throw new IllegalArgumentException("Unknown Drone phase " + phase);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static String browserOf(DronePoint<?> dronePoint, DroneContext context) {
+        if (context == null || !context.contains(dronePoint)) {
+            return null;
+        }
+        DronePointContext<?> pointContext = context.get(dronePoint);
+        if (!pointContext.hasConfiguration()) {
+            return null;
+        }
+
+        Object configuration = pointContext.getConfigurationAs((Class) DroneConfiguration.class);
+        Method getter = BROWSER_GETTERS.get(configuration.getClass());
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return (String) getter.invoke(configuration);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static final class JfrRecordedDronePhase implements RecordedDronePhase {
+        private final DroneJfrEvent jfrEvent;
+        private final DronePoint<?> dronePoint;
+
+        JfrRecordedDronePhase(DroneJfrEvent jfrEvent, DronePoint<?> dronePoint) {
+            this.jfrEvent = jfrEvent;
+            this.dronePoint = dronePoint;
+        }
+
+        @Override
+        public void end(boolean finished, DroneContext context) {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.browser = browserOf(dronePoint, context);
+                jfrEvent.outcome = finished ? SUCCESS : FAILURE;
+                jfrEvent.commit();
+            }
+        }
+    }
+}
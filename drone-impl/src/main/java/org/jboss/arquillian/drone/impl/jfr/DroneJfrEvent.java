@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of Java Flight Recorder events describing a phase of the Drone life cycle of a single drone point. An event
+ * begins when the phase starts and ends when it finishes, so its start time and duration are those of the phase.
+ */
+@Category({"Arquillian", "Drone"})
+abstract class DroneJfrEvent extends Event {
+
+    @Label("Drone Point")
+    String dronePoint;
+
+    @Label("Lifecycle")
+    String lifecycle;
+
+    @Label("Browser")
+    @Description("Browser of the drone if its configuration defines any")
+    String browser;
+
+    @Label("Outcome")
+    @Description("Either success or failure if the phase was never finished")
+    String outcome;
+}
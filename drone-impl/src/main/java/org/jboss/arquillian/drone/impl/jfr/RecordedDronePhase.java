@@ -0,0 +1,36 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl.jfr;
+
+import org.jboss.arquillian.drone.spi.DroneContext;
+
+/**
+ * A phase of the Drone life cycle being recorded by the {@link DroneFlightRecorder}. This interface does not touch
+ * {@code jdk.jfr} API, so the recorded phases can be kept by classes loaded on JVMs without it.
+ */
+public interface RecordedDronePhase {
+
+    /**
+     * Ends the phase and commits its event if it should be committed according to the recording settings
+     *
+     * @param finished
+     *     {@code false} if the phase was never finished, e.g. because the instantiation failed
+     * @param context
+     *     the drone context used to find out the browser of the drone point, might be {@code null}
+     */
+    void end(boolean finished, DroneContext context);
+}
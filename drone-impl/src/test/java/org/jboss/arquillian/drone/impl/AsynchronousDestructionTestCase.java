@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.DelegatingMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drones are destroyed in the background when the asynchronous destruction is enabled and that the
+ * pending destructions are finished at the end of the suite
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class AsynchronousDestructionTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private SlowMockDroneFactory factory;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("asynchronousDestruction", "true")
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        factory = new SlowMockDroneFactory(getManager());
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+    }
+
+    @Test
+    public void destructionDoesNotBlockLifecycle() throws Exception {
+        getManager().getContext(ClassContext.class).activate(FieldClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(FieldClass.class));
+
+        FieldClass instance = new FieldClass();
+        serviceLoader.onlyOne(TestEnricher.class).enrich(instance);
+        Assert.assertNotNull("Drone was injected", instance.browser);
+
+        // the destructor is blocked, yet the lifecycle continues
+        fire(new AfterClass(FieldClass.class));
+        assertEventFired(AfterDroneDestroyed.class, 1);
+        Assert.assertTrue("Destruction was started in the background", factory.started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("Drone is still being destroyed", 1, factory.destroyed.getCount());
+        Assert.assertTrue("Arquillian contexts are active in the destructor", factory.classContextActive);
+
+        factory.blocker.countDown();
+        fire(new AfterSuite());
+
+        Assert.assertEquals("Pending destruction was finished at the end of the suite", 0,
+            factory.destroyed.getCount());
+    }
+
+    static class FieldClass {
+        @Drone
+        MockDrone browser;
+    }
+
+    public static class SlowMockDroneFactory extends DelegatingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch blocker = new CountDownLatch(1);
+        private final CountDownLatch destroyed = new CountDownLatch(1);
+        private final Manager manager;
+        private volatile boolean classContextActive;
+
+        SlowMockDroneFactory(Manager manager) {
+            this.manager = manager;
+        }
+
+        @Override
+        protected boolean beforeDestroyInstance(MockDrone instance) {
+            classContextActive = manager.getContext(ClassContext.class).isActive();
+            started.countDown();
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        protected void afterDestroyInstance(MockDrone instance) {
+            destroyed.countDown();
+        }
+    }
+}
@@ -172,4 +172,33 @@ public class DroneContextFilteringTest extends AbstractTestTestBase {
             .filter(new LifecycleFilter(DronePoint.Lifecycle.DEPLOYMENT))
             .single(), is(differentDeploymentDronePoint));
     }
+
+    @Test
+    public void testIndexesFollowContextChanges() {
+        context.remove(defaultClassDronePoint);
+        assertThat(context.find(MockDrone.class)
+            .filter(new LifecycleFilter(DronePoint.Lifecycle.CLASS))
+            .single(), is(differentClassDronePoint));
+
+        context.get(differentClassDronePoint).removeMetadata(DeploymentNameKey.class);
+        context.get(defaultDeploymentDronePoint).setMetadata(DeploymentNameKey.class, AnnotationMocks.DEPLOYMENT_2);
+        assertThat(context.find(MockDrone.class)
+            .filter(new DeploymentFilter(AnnotationMocks.DEPLOYMENT_1))
+            .size(), is(0));
+        assertThat(context.find(MockDrone.class)
+            .filter(new DeploymentFilter(AnnotationMocks.DEPLOYMENT_2))
+            .size(), is(2));
+
+        context.remove(differentDeploymentDronePoint);
+        assertThat(context.find(MockDrone.class)
+            .filter(new DeploymentFilter(AnnotationMocks.DEPLOYMENT_2))
+            .single(), is(defaultDeploymentDronePoint));
+        assertThat(context.find(Object.class)
+            .filter(new LifecycleFilter(DronePoint.Lifecycle.CLASS, DronePoint.Lifecycle.DEPLOYMENT))
+            .size(), is(2));
+        assertThat(context.find(String.class)
+            .filter(new LifecycleFilter(DronePoint.Lifecycle.METHOD))
+            .size(), is(0));
+        assertThat(context.find(MockDrone.class).size(), is(4));
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.test.spi.context.SuiteContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests selection of the executor drones are instantiated by
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DroneExecutorTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+    }
+
+    private DroneExecutor createExecutor(String executor) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("executor", executor).property("executorPoolSize", "2");
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+
+        fire(new BeforeSuite());
+        DroneExecutor droneExecutor = getManager().getContext(SuiteContext.class).getObjectStore()
+            .get(DroneExecutor.class);
+        Assert.assertNotNull("Drone executor was created", droneExecutor);
+        return droneExecutor;
+    }
+
+    @Test
+    public void platformExecutorRunsTasksWithArquillianContexts() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.PLATFORM);
+
+        Assert.assertTrue("Task runs on a Drone thread",
+            droneExecutor.submit(currentThreadName()).get(10, TimeUnit.SECONDS).startsWith("drone-executor-"));
+        Assert.assertNotNull("Arquillian contexts are active in the task",
+            droneExecutor.submit(resolveDroneContext()).get(10, TimeUnit.SECONDS));
+
+        fire(new AfterSuite());
+    }
+
+    @Test
+    public void virtualExecutorRunsTasksWithArquillianContexts() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.VIRTUAL);
+
+        String threadName = droneExecutor.submit(currentThreadName()).get(10, TimeUnit.SECONDS);
+        Assert.assertFalse("Task does not run on the executor of Arquillian core",
+            threadName.startsWith("pool-"));
+        Assert.assertNotNull("Arquillian contexts are active in the task",
+            droneExecutor.submit(resolveDroneContext()).get(10, TimeUnit.SECONDS));
+
+        fire(new AfterSuite());
+    }
+
+    @Test
+    public void arquillianExecutorIsUsedByDefault() throws Exception {
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, Descriptors.create(ArquillianDescriptor.class));
+        fire(new BeforeSuite());
+        DroneExecutor droneExecutor = getManager().getContext(SuiteContext.class).getObjectStore()
+            .get(DroneExecutor.class);
+
+        Assert.assertFalse("Task does not run on a Drone thread",
+            droneExecutor.submit(currentThreadName()).get(10, TimeUnit.SECONDS).startsWith("drone-executor-"));
+
+        fire(new AfterSuite());
+    }
+
+    @Test
+    public void platformExecutorHandsTasksOverToArquillianExecutorIfQueueIsFull() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.PLATFORM);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        Callable<String> blocked = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                blocker.await();
+                return Thread.currentThread().getName();
+            }
+        };
+
+        try {
+            // two tasks occupy both threads of the pool, two more fill the queue
+            for (int i = 0; i < 4; i++) {
+                droneExecutor.submit(blocked);
+            }
+            String threadName = droneExecutor.submit(currentThreadName()).get(10, TimeUnit.SECONDS);
+            Assert.assertNotEquals("Task was not run by the submitting thread", Thread.currentThread().getName(),
+                threadName);
+            Assert.assertFalse("Task does not run on a Drone thread", threadName.startsWith("drone-executor-"));
+        } finally {
+            blocker.countDown();
+        }
+
+        fire(new AfterSuite());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void platformExecutorRejectsTasksAfterShutdown() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.PLATFORM);
+        fire(new AfterSuite());
+
+        droneExecutor.submit(currentThreadName());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void arquillianExecutorRejectsTasksAfterShutdown() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.ARQUILLIAN);
+        fire(new AfterSuite());
+
+        droneExecutor.submit(currentThreadName());
+    }
+
+    @Test
+    public void arquillianExecutorIsUsedIfSelected() throws Exception {
+        DroneExecutor droneExecutor = createExecutor(DroneExecutor.ARQUILLIAN);
+
+        Assert.assertFalse("Task does not run on a Drone thread",
+            droneExecutor.submit(currentThreadName()).get(10, TimeUnit.SECONDS).startsWith("drone-executor-"));
+        Assert.assertNotNull("Arquillian contexts are active in the task",
+            droneExecutor.submit(resolveDroneContext()).get(10, TimeUnit.SECONDS));
+    }
+
+    private Callable<String> currentThreadName() {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return Thread.currentThread().getName();
+            }
+        };
+    }
+
+    private Callable<DroneContext> resolveDroneContext() {
+        return new Callable<DroneContext>() {
+            @Override
+            public DroneContext call() {
+                return getManager().resolve(DroneContext.class);
+            }
+        };
+    }
+}
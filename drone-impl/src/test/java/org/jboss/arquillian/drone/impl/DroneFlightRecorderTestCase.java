@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.DroneMetricsTestCase.SlowMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that Java Flight Recorder events are emitted for the phases of the drone life cycle
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DroneFlightRecorderTestCase extends AbstractTestTestBase {
+
+    private static final List<String> EVENT_NAMES = Arrays.asList("org.jboss.arquillian.drone.Prepare",
+        "org.jboss.arquillian.drone.Instantiate", "org.jboss.arquillian.drone.Destroy");
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private Recording recording;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+        extensions.add(DroneMetricsRecorder.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        SlowMockDroneFactory factory = new SlowMockDroneFactory();
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+
+        recording = new Recording();
+        for (String eventName : EVENT_NAMES) {
+            recording.enable(eventName);
+        }
+    }
+
+    @After
+    public void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    public void lifecyclePhasesAreRecorded() throws Exception {
+        recording.start();
+        runTestClass();
+
+        List<RecordedEvent> events = stopAndRead();
+
+        List<String> names = new ArrayList<String>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+            Assert.assertEquals("success", event.getString("outcome"));
+            Assert.assertEquals("CLASS", event.getString("lifecycle"));
+            Assert.assertTrue(event.getString("dronePoint").contains(MockDrone.class.getName()));
+        }
+        Assert.assertEquals(EVENT_NAMES, names);
+
+        // the events span the phases, so they follow each other in the recording
+        RecordedEvent instantiation = events.get(1);
+        Assert.assertTrue("Instantiation event lasts as long as the instantiation, took " + instantiation.getDuration(),
+            instantiation.getDuration().toMillis() >= DroneMetricsTestCase.INSTANTIATION_DELAY);
+        Assert.assertFalse(instantiation.getStartTime().isBefore(events.get(0).getEndTime()));
+        Assert.assertFalse(events.get(2).getStartTime().isBefore(instantiation.getEndTime()));
+    }
+
+    @Test
+    public void thresholdOfRecordingIsRespected() throws Exception {
+        recording.enable("org.jboss.arquillian.drone.Instantiate").withThreshold(Duration.ofHours(1));
+        recording.start();
+        runTestClass();
+
+        List<RecordedEvent> events = stopAndRead();
+
+        List<String> names = new ArrayList<String>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+        }
+        Assert.assertEquals(Arrays.asList("org.jboss.arquillian.drone.Prepare", "org.jboss.arquillian.drone.Destroy"),
+            names);
+    }
+
+    @Test
+    public void unfinishedPhaseIsRecordedAsFailure() throws Exception {
+        recording.start();
+
+        fire(new BeforeSuite());
+        fire(new BeforeDroneInstantiated(new DronePointImpl<MockDrone>(MockDrone.class, DronePoint.Lifecycle.METHOD,
+            AnnotationMocks.drone())));
+        fire(new AfterSuite());
+
+        List<RecordedEvent> events = stopAndRead();
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("org.jboss.arquillian.drone.Instantiate", events.get(0).getEventType().getName());
+        Assert.assertEquals("failure", events.get(0).getString("outcome"));
+        Assert.assertEquals("METHOD", events.get(0).getString("lifecycle"));
+    }
+
+    private void runTestClass() {
+        getManager().getContext(ClassContext.class).activate(FieldClass.class);
+        fire(new BeforeSuite());
+        fire(new BeforeClass(FieldClass.class));
+        serviceLoader.onlyOne(TestEnricher.class).enrich(new FieldClass());
+        fire(new AfterClass(FieldClass.class));
+        fire(new AfterSuite());
+    }
+
+    private List<RecordedEvent> stopAndRead() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("drone", ".jfr");
+        try {
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (EVENT_NAMES.contains(event.getEventType().getName())) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    static class FieldClass {
+        @Drone
+        MockDrone drone;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.DelegatingMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.metrics.DroneLatencyHistogram;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetrics;
+import org.jboss.arquillian.drone.spi.metrics.DroneMetricsExporter;
+import org.jboss.arquillian.drone.spi.metrics.DronePhase;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that latencies of drone life cycle phases are recorded per drone type and qualifier and exported at the end
+ * of the suite
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DroneMetricsTestCase extends AbstractTestTestBase {
+
+    static final long INSTANTIATION_DELAY = 50;
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+        extensions.add(DroneMetricsRecorder.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        SlowMockDroneFactory factory = new SlowMockDroneFactory();
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+    }
+
+    @Test
+    public void phasesAreRecordedPerDroneTypeAndQualifier() throws Exception {
+        CapturingExporter exporter = new CapturingExporter();
+        Mockito.when(serviceLoader.all(DroneMetricsExporter.class))
+            .thenReturn(Arrays.<DroneMetricsExporter>asList(exporter));
+
+        getManager().getContext(ClassContext.class).activate(DoubleFieldClass.class);
+        fire(new BeforeSuite());
+        fire(new BeforeClass(DoubleFieldClass.class));
+        serviceLoader.onlyOne(TestEnricher.class).enrich(new DoubleFieldClass());
+        fire(new AfterClass(DoubleFieldClass.class));
+        fire(new AfterSuite());
+
+        DroneMetrics metrics = exporter.exported;
+        Assert.assertNotNull("Metrics were exported at the end of the suite", metrics);
+
+        for (Class<? extends Annotation> qualifier : Arrays.asList(Default.class, Different.class)) {
+            for (DronePhase phase : Arrays.asList(DronePhase.PREPARE, DronePhase.INSTANTIATE, DronePhase.DESTROY)) {
+                DroneLatencyHistogram histogram = metrics.getHistogram(phase, MockDrone.class, qualifier);
+                Assert.assertNotNull(phase + " of " + qualifier.getSimpleName() + " drone was recorded", histogram);
+                Assert.assertEquals(1, histogram.getCount());
+            }
+        }
+
+        DroneLatencyHistogram instantiation =
+            metrics.getHistogram(DronePhase.INSTANTIATE, MockDrone.class, Default.class);
+        Assert.assertTrue("Instantiation took at least " + INSTANTIATION_DELAY + " ms",
+            instantiation.getMin(TimeUnit.MILLISECONDS) >= INSTANTIATION_DELAY);
+        Assert.assertEquals("Histograms are ordered by qualifier and phase", DronePhase.PREPARE,
+            metrics.getHistograms().get(0).getPhase());
+        Assert.assertEquals(6, metrics.getHistograms().size());
+    }
+
+    @Test
+    public void percentilesAreEstimatedWithinResolution() {
+        DroneLatencyHistogramImpl histogram =
+            new DroneLatencyHistogramImpl(DronePhase.INSTANTIATE, MockDrone.class, Default.class);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(1, histogram.getMin(TimeUnit.MILLISECONDS));
+        Assert.assertEquals(100, histogram.getMax(TimeUnit.MILLISECONDS));
+        Assert.assertEquals(50, histogram.getMean(TimeUnit.MILLISECONDS));
+        assertWithinResolution(50, histogram.getPercentile(50, TimeUnit.MILLISECONDS));
+        assertWithinResolution(95, histogram.getPercentile(95, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(100, histogram.getPercentile(100, TimeUnit.MILLISECONDS));
+
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            long upperBound = DroneLatencyHistogramImpl.upperBoundOf(DroneLatencyHistogramImpl.bucketOf(value));
+            Assert.assertTrue("Value " + value + " fits its bucket", value <= upperBound);
+            Assert.assertTrue("Bucket of " + value + " is narrow enough", upperBound <= value + value / 4 + 1);
+        }
+    }
+
+    private void assertWithinResolution(long expected, long actual) {
+        Assert.assertTrue("Expected " + expected + " but was " + actual,
+            actual >= expected && actual <= expected * 5 / 4);
+    }
+
+    static class DoubleFieldClass {
+        @Drone
+        MockDrone first;
+
+        @Drone
+        @Different
+        MockDrone second;
+    }
+
+    static class CapturingExporter implements DroneMetricsExporter {
+        private DroneMetrics exported;
+
+        @Override
+        public void export(DroneMetrics metrics) {
+            this.exported = metrics;
+        }
+    }
+
+    public static class SlowMockDroneFactory extends DelegatingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+
+        @Override
+        protected void beforeCreateInstance(MockDroneConfiguration configuration) {
+            try {
+                Thread.sleep(INSTANTIATION_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
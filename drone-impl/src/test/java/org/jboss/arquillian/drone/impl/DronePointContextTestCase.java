@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.List;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.threading.ExecutorService;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that an already instantiated drone is returned without going through the executor
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DronePointContextTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+    }
+
+    @Test
+    public void cachedInstanceIsReturnedDirectly() {
+        bind(ApplicationScoped.class, ExecutorService.class, executorService);
+
+        DronePoint<MockDrone> dronePoint = new DronePointImpl<MockDrone>(MockDrone.class, DronePoint.Lifecycle.CLASS,
+            AnnotationMocks.drone());
+        DronePointContextImpl<MockDrone> context = new DronePointContextImpl<MockDrone>(dronePoint);
+        getManager().inject(context);
+
+        MockDrone drone = new MockDrone("foobar");
+        context.setFutureInstance(new ConstantValueCachingCallable<MockDrone>(drone));
+
+        Assert.assertSame(drone, context.getInstance());
+        Assert.assertSame(drone, context.getInstance());
+
+        Mockito.verifyZeroInteractions(executorService);
+        assertEventFired(BeforeDroneInstantiated.class, 0);
+        assertEventFired(AfterDroneInstantiated.class, 0);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.DroneMetricsTestCase.SlowMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that the timeline of test methods and drone spans is written at the end of the suite
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DroneTimelineTestCase extends AbstractTestTestBase {
+
+    private static final File TIMELINE_DIRECTORY = new File("target" + File.separator + "drone");
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+        extensions.add(DroneMetricsRecorder.class);
+        extensions.add(DroneTimelineRecorder.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("reportTimeline", "true")
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        SlowMockDroneFactory factory = new SlowMockDroneFactory();
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+
+        new File(TIMELINE_DIRECTORY, DroneTimelineWriter.TIMELINE_FILE).delete();
+        new File(TIMELINE_DIRECTORY, DroneTimelineWriter.SUMMARY_FILE).delete();
+    }
+
+    @Test
+    public void timelineIsWrittenAtTheEndOfTheSuite() throws Exception {
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+        runTest("firstTest");
+        runTest("secondTest");
+        fire(new AfterClass(MethodEnrichedClass.class));
+        fire(new AfterSuite());
+
+        String timeline = read(DroneTimelineWriter.TIMELINE_FILE);
+        Assert.assertTrue(timeline, timeline.contains("\"name\": \"" + MethodEnrichedClass.class.getName() + "\""));
+        Assert.assertTrue(timeline, timeline.contains("\"name\": \"firstTest\""));
+        Assert.assertTrue(timeline, timeline.contains("\"name\": \"secondTest\""));
+        Assert.assertEquals("Drone was instantiated in each test", 2, occurrences(timeline, "\"INSTANTIATE\""));
+        Assert.assertEquals("Drone was destroyed in each test", 2, occurrences(timeline, "\"DESTROY\""));
+        Assert.assertEquals(2, occurrences(timeline, "\"POST_INSTANTIATION\""));
+
+        String summary = read(DroneTimelineWriter.SUMMARY_FILE);
+        Assert.assertTrue(summary, summary.contains("  firstTest"));
+        Assert.assertTrue(summary, summary.contains("Slowest drone points"));
+        Assert.assertFalse("Instantiating the drone once would save time",
+            summary.contains("potential saving by pooling or reuse: 0.000 ms"));
+    }
+
+    @Test
+    public void timelineIsNotRecordedByDefault() throws Exception {
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, Descriptors.create(ArquillianDescriptor.class));
+
+        fire(new BeforeSuite());
+        fire(new AfterSuite());
+
+        Assert.assertNull(getManager().resolve(DroneTimeline.class));
+        Assert.assertFalse(new File(TIMELINE_DIRECTORY, DroneTimelineWriter.TIMELINE_FILE).exists());
+    }
+
+    @Test
+    public void spansOfParallelClassesAreKeptApart() throws Exception {
+        final DroneTimeline timeline = new DroneTimeline();
+        final DronePoint<MockDrone> dronePoint =
+            new DronePointImpl<MockDrone>(MockDrone.class, DronePoint.Lifecycle.METHOD, AnnotationMocks.drone());
+        final Method firstTest = MethodEnrichedClass.class.getMethod("firstTest", MockDrone.class);
+        final Method secondTest = MethodEnrichedClass.class.getMethod("secondTest", MockDrone.class);
+
+        timeline.classStarted(MethodEnrichedClass.class);
+        timeline.methodStarted(MethodEnrichedClass.class, firstTest);
+
+        // the other class starts and finishes while the first test method is still running
+        Thread otherClass = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                timeline.classStarted(OtherClass.class);
+                timeline.methodStarted(OtherClass.class, secondTest);
+                timeline.span("INSTANTIATE", dronePoint, 0, 2);
+                timeline.methodFinished();
+                timeline.classFinished(OtherClass.class);
+            }
+        });
+        otherClass.start();
+        otherClass.join();
+
+        timeline.span("INSTANTIATE", dronePoint, 0, 1);
+        timeline.methodFinished();
+        timeline.classFinished(MethodEnrichedClass.class);
+
+        Assert.assertEquals(2, timeline.classes.size());
+        DroneTimeline.MethodEntry first = timeline.classes.get(0).methods.get(0);
+        DroneTimeline.MethodEntry second = timeline.classes.get(1).methods.get(0);
+        Assert.assertEquals("firstTest", first.name);
+        Assert.assertEquals(1, first.spans.size());
+        Assert.assertEquals(1, first.spans.get(0).end);
+        Assert.assertTrue("First test method was finished", first.end >= 0);
+        Assert.assertEquals("secondTest", second.name);
+        Assert.assertEquals(1, second.spans.size());
+        Assert.assertEquals(2, second.spans.get(0).end);
+        Assert.assertTrue("First test class was finished", timeline.classes.get(0).end >= 0);
+    }
+
+    private void runTest(String name) throws Exception {
+        Object instance = new MethodEnrichedClass();
+        Method testMethod = MethodEnrichedClass.class.getMethod(name, MockDrone.class);
+        getManager().getContext(TestContext.class).activate(instance);
+
+        fire(new Before(instance, testMethod));
+        Object[] parameters = serviceLoader.onlyOne(TestEnricher.class).resolve(testMethod);
+        testMethod.invoke(instance, parameters);
+        fire(new After(instance, testMethod));
+
+        getManager().getContext(TestContext.class).deactivate();
+    }
+
+    private static String read(String fileName) throws Exception {
+        File file = new File(TIMELINE_DIRECTORY, fileName);
+        Assert.assertTrue(file + " was written", file.exists());
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static int occurrences(String text, String pattern) {
+        int count = 0;
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    static class OtherClass {
+    }
+
+    static class MethodEnrichedClass {
+
+        public void firstTest(@Drone MockDrone drone) {
+            Assert.assertNotNull(drone);
+        }
+
+        public void secondTest(@Drone MockDrone drone) {
+            Assert.assertNotNull(drone);
+        }
+    }
+}
@@ -157,6 +157,8 @@ public class EnhancerTestCase extends AbstractTestTestBase {
 
         assertFalse(context.get(dronePoint).isInstantiated());
         assertThat(notEnhanced, equalTo(deEnhanced));
+
+        Mockito.verify(serviceLoader, Mockito.times(1)).all(DroneInstanceEnhancer.class);
     }
 
     @Test
@@ -20,9 +20,12 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.spi.ServiceLoader;
@@ -33,6 +36,7 @@ import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
 import org.jboss.arquillian.drone.spi.Configurator;
 import org.jboss.arquillian.drone.spi.Destructor;
 import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
 import org.jboss.arquillian.drone.spi.Instantiator;
 import org.jboss.arquillian.drone.spi.command.PrepareDrone;
@@ -117,6 +121,54 @@ public class InjectionPointsTest extends AbstractTestTestBase {
             true);
     }
 
+    @Test
+    public void cachedInjectionPointsAreRegisteredAgain() throws Exception {
+        fire(new BeforeSuite());
+
+        DroneContext context = getManager()
+            .getContext(ApplicationContext.class).getObjectStore().get(DroneContext.class);
+
+        Map<Field, DronePoint<?>> fields = InjectionPoints.fieldsInClass(context, DummyClass.class);
+        Assert.assertEquals(2, fields.size());
+
+        for (DronePoint<?> dronePoint : fields.values()) {
+            context.remove(dronePoint);
+            Assert.assertFalse(context.contains(dronePoint));
+        }
+
+        Map<Field, DronePoint<?>> cachedFields = InjectionPoints.fieldsInClass(context, DummyClass.class);
+        Assert.assertEquals(fields, cachedFields);
+        for (DronePoint<?> dronePoint : cachedFields.values()) {
+            Assert.assertTrue("Cached drone point was registered into context", context.contains(dronePoint));
+        }
+
+        Method testMethod = DummyClass.class.getMethod("testDummyMethod");
+        Assert.assertArrayEquals(InjectionPoints.parametersInMethod(context, testMethod),
+            InjectionPoints.parametersInMethod(context, testMethod));
+        Assert.assertEquals(new HashSet<DronePoint<?>>(fields.values()),
+            InjectionPoints.allInClass(context, DummyClass.class));
+    }
+
+    @Test
+    public void forgottenInjectionPointsAreScannedAgain() throws Exception {
+        fire(new BeforeSuite());
+
+        DroneContext context = getManager()
+            .getContext(ApplicationContext.class).getObjectStore().get(DroneContext.class);
+
+        Map<Field, DronePoint<?>> fields = InjectionPoints.fieldsInClass(context, DummyClass.class);
+        Field cachedField = fields.keySet().iterator().next();
+        Assert.assertSame("Injection points are cached", cachedField,
+            InjectionPoints.fieldsInClass(context, DummyClass.class).keySet().iterator().next());
+
+        InjectionPoints.forget(DummyClass.class);
+
+        Map<Field, DronePoint<?>> scannedFields = InjectionPoints.fieldsInClass(context, DummyClass.class);
+        Assert.assertEquals(fields, scannedFields);
+        Assert.assertNotSame("Injection points were scanned again", cachedField,
+            scannedFields.keySet().iterator().next());
+    }
+
     private void runCustomAnnotationHasNoEffectTest(Class<?> testClass, String beforeClassMethodName,
         String testMethodName, boolean createdInBeforeClass)
         throws Exception {
@@ -0,0 +1,222 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.InstanceInterfaces;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drones injected lazily are instantiated by their first use only
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class LazyInjectionTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private TestEnricher testEnricher;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setMocks(String lazyInjection) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("lazyInjection", lazyInjection)
+            .extension("mockdrone").property("field", "foobar");
+
+        testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(
+            Arrays.<Configurator>asList(new MockDroneFactory(), new MockBrowserFactory()));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(
+            Arrays.<Instantiator>asList(new MockDroneFactory(), new MockBrowserFactory()));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(
+            Arrays.<Destructor>asList(new MockDroneFactory(), new MockBrowserFactory()));
+    }
+
+    @Test
+    public void interfaceDroneIsInstantiatedByFirstUse() throws Exception {
+        setMocks("true");
+        EnrichedClass instance = enrichInstance();
+
+        Assert.assertTrue("Browser is a proxy", Proxy.isProxyClass(instance.browser.getClass()));
+        Assert.assertNotNull("Drone of a class type is injected eagerly", instance.drone);
+        assertEventFired(AfterDroneInstantiated.class, 1);
+
+        Assert.assertNotNull(instance.browser.toString());
+        Assert.assertEquals(instance.browser, instance.browser);
+        assertEventFired(AfterDroneInstantiated.class, 1);
+
+        Assert.assertEquals("foobar", instance.browser.getField());
+        Assert.assertEquals("foobar", instance.browser.getField());
+        assertEventFired(AfterDroneInstantiated.class, 2);
+
+        fire(new AfterClass(EnrichedClass.class));
+        assertEventFired(AfterDroneDestroyed.class, 2);
+    }
+
+    @Test
+    public void proxyImplementsInterfacesOfInstance() throws Exception {
+        setMocks("true");
+        EnrichedClass instance = enrichInstance();
+
+        Assert.assertTrue("Proxy implements the interfaces declared by the instantiator",
+            instance.browser instanceof Runnable);
+        ((Runnable) instance.browser).run();
+        assertEventFired(AfterDroneInstantiated.class, 2);
+    }
+
+    @Test
+    public void destroyedDroneIsNotInstantiatedAgain() throws Exception {
+        setMocks("true");
+        EnrichedClass instance = enrichInstance();
+
+        fire(new AfterClass(EnrichedClass.class));
+
+        try {
+            instance.browser.getField();
+            Assert.fail("Proxy of a destroyed drone started a new one");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEventFired(AfterDroneInstantiated.class, 1);
+    }
+
+    @Test
+    public void unusedDroneIsNeverInstantiated() throws Exception {
+        setMocks("true");
+        enrichInstance();
+
+        fire(new AfterClass(EnrichedClass.class));
+        assertEventFired(AfterDroneInstantiated.class, 1);
+        assertEventFired(AfterDroneDestroyed.class, 1);
+    }
+
+    @Test
+    public void dronesAreInjectedEagerlyByDefault() throws Exception {
+        setMocks("false");
+        EnrichedClass instance = enrichInstance();
+
+        Assert.assertFalse("Browser is not a proxy", Proxy.isProxyClass(instance.browser.getClass()));
+        assertEventFired(AfterDroneInstantiated.class, 2);
+    }
+
+    private EnrichedClass enrichInstance() {
+        getManager().getContext(ClassContext.class).activate(EnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(EnrichedClass.class));
+
+        EnrichedClass instance = new EnrichedClass();
+        getManager().getContext(TestContext.class).activate(instance);
+        testEnricher.enrich(instance);
+        return instance;
+    }
+
+    static class EnrichedClass {
+        @Drone
+        MockBrowser browser;
+
+        @Drone
+        MockDrone drone;
+    }
+
+    public interface MockBrowser {
+        String getField();
+    }
+
+    public abstract static class RunnableMockBrowser implements MockBrowser, Runnable {
+    }
+
+    public static class MockBrowserFactory implements Configurator<MockBrowser, MockDroneConfiguration>,
+        Instantiator<MockBrowser, MockDroneConfiguration>, Destructor<MockBrowser>,
+        InstanceInterfaces<MockDroneConfiguration> {
+
+        @Override
+        public int getPrecedence() {
+            return 0;
+        }
+
+        @Override
+        public MockDroneConfiguration createConfiguration(ArquillianDescriptor descriptor,
+            DronePoint<MockBrowser> dronePoint) {
+            return new MockDroneConfiguration().configure(descriptor, dronePoint.getQualifier());
+        }
+
+        @Override
+        public MockBrowser createInstance(final MockDroneConfiguration configuration) {
+            return new RunnableMockBrowser() {
+                @Override
+                public String getField() {
+                    return configuration.getField();
+                }
+
+                @Override
+                public void run() {
+                }
+            };
+        }
+
+        @Override
+        public Class<?>[] getInstanceInterfaces(MockDroneConfiguration configuration) {
+            return RunnableMockBrowser.class.getInterfaces();
+        }
+
+        @Override
+        public void destroyInstance(MockBrowser instance) {
+        }
+    }
+}
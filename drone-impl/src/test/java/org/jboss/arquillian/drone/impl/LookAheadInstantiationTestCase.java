@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.DelegatingMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDronePrepared;
+import org.jboss.arquillian.drone.spi.event.BeforeDronePrepared;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that method scoped drones are instantiated one test method ahead when look-ahead instantiation is enabled
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class LookAheadInstantiationTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private CountingMockDroneFactory factory;
+
+    private TestEnricher testEnricher;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+        extensions.add(DroneLookAheadInstantiator.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setMocks(String lookAheadInstantiation) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("lookAheadInstantiation", lookAheadInstantiation)
+            .extension("mockdrone").property("field", "foobar");
+
+        testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        factory = new CountingMockDroneFactory();
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+    }
+
+    @Test
+    public void nextMethodUsesSpareDrone() throws Exception {
+        setMocks("true");
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+
+        MockDrone first = runTestMethod("firstMethod");
+        Assert.assertEquals("The first method instantiates its drone", "drone1", first.getField());
+
+        MockDrone second = runTestMethod("secondMethod");
+        Assert.assertEquals("The second method uses the spare drone started during the first one", "drone2",
+            second.getField());
+        assertEventFired(BeforeDronePrepared.class, 2);
+        assertEventFired(AfterDronePrepared.class, 2);
+
+        runTestMethod("thirdMethod");
+        fire(new AfterClass(MethodEnrichedClass.class));
+
+        Assert.assertEquals("No spare drone is started after the last method", 3, factory.created.get());
+        Assert.assertEquals("Each drone is destroyed", 3, factory.destroyed.get());
+    }
+
+    @Test
+    public void unusedSpareDroneIsDestroyedInBackground() throws Exception {
+        setMocks("true");
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+
+        // the third method is not run, e.g. it was filtered out, so the spare drone started for it is not used
+        runTestMethod("firstMethod");
+        runTestMethod("thirdMethod");
+
+        fire(new AfterClass(MethodEnrichedClass.class));
+        fire(new AfterSuite());
+
+        Assert.assertEquals("A spare drone is started while a method remains", 3, factory.created.get());
+        Assert.assertEquals("The unused spare drone is destroyed", 3, factory.destroyed.get());
+    }
+
+    @Test
+    public void noSpareDroneByDefault() throws Exception {
+        setMocks("false");
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+
+        runTestMethod("firstMethod");
+        runTestMethod("secondMethod");
+
+        fire(new AfterClass(MethodEnrichedClass.class));
+
+        Assert.assertEquals("Each method instantiates its drone", 2, factory.created.get());
+        Assert.assertEquals("Each drone is destroyed", 2, factory.destroyed.get());
+    }
+
+    private MockDrone runTestMethod(String name) throws Exception {
+        Object instance = new MethodEnrichedClass();
+        Method testMethod = MethodEnrichedClass.class.getMethod(name, MockDrone.class);
+
+        getManager().getContext(TestContext.class).activate(instance);
+        try {
+            fire(new Before(instance, testMethod));
+            Object[] parameters = testEnricher.resolve(testMethod);
+            fire(new After(instance, testMethod));
+            return (MockDrone) parameters[0];
+        } finally {
+            getManager().getContext(TestContext.class).deactivate();
+        }
+    }
+
+    static class MethodEnrichedClass {
+        public void firstMethod(@Drone MockDrone browser) {
+        }
+
+        public void secondMethod(@Drone MockDrone browser) {
+        }
+
+        public void thirdMethod(@Drone MockDrone browser) {
+        }
+    }
+
+    static class CountingMockDroneFactory extends DelegatingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        protected void afterCreateInstance(MockDrone instance) {
+            instance.setField("drone" + created.incrementAndGet());
+        }
+
+        @Override
+        protected void afterDestroyInstance(MockDrone instance) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.AfterDronePrepared;
+import org.jboss.arquillian.drone.spi.event.AfterDroneReleased;
+import org.jboss.arquillian.drone.spi.event.BeforeDronePrepared;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneReleased;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.SuiteContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drones with method lifecycle are reset and reused by the next test method when their reuse is enabled
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class MethodDroneReuseTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private TestEnricher testEnricher;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setMocks(String reuseMethodDrones) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("reuseMethodDrones", reuseMethodDrones)
+            .extension("mockdrone").property("field", "foobar");
+
+        testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(
+            Arrays.<Configurator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(
+            Arrays.<Instantiator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(
+            Arrays.<Destructor>asList(new MockDroneFactory()));
+    }
+
+    @Test
+    public void droneIsReusedByNextTestMethod() throws Exception {
+        setMocks("true");
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+
+        MockDrone first = runTestMethod();
+
+        assertEventFired(BeforeDroneReleased.class, 1);
+        assertEventFired(AfterDroneReleased.class, 1);
+        assertEventFired(AfterDroneDestroyed.class, 0);
+
+        MockDrone second = runTestMethod();
+
+        Assert.assertSame("Released drone was reused", first, second);
+        assertEventFired(AfterDroneInstantiated.class, 1);
+        assertEventFired(BeforeDronePrepared.class, 2);
+        assertEventFired(AfterDronePrepared.class, 2);
+        assertEventFired(AfterDroneReleased.class, 2);
+
+        fire(new AfterClass(MethodEnrichedClass.class));
+        assertEventFired(AfterDroneDestroyed.class, 0);
+
+        DronePool pool = getManager().getContext(SuiteContext.class).getObjectStore().get(DronePool.class);
+        fire(new AfterSuite());
+
+        assertEventFired(AfterDroneDestroyed.class, 1);
+        Assert.assertEquals("Pool was drained", 0, pool.size());
+    }
+
+    @Test
+    public void droneIsDestroyedAfterTestMethodByDefault() throws Exception {
+        setMocks("false");
+        getManager().getContext(ClassContext.class).activate(MethodEnrichedClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(MethodEnrichedClass.class));
+
+        MockDrone first = runTestMethod();
+        MockDrone second = runTestMethod();
+
+        Assert.assertNotSame("Each test method has its own drone", first, second);
+        assertEventFired(BeforeDroneReleased.class, 0);
+        assertEventFired(AfterDroneInstantiated.class, 2);
+        assertEventFired(AfterDroneDestroyed.class, 2);
+    }
+
+    private MockDrone runTestMethod() throws Exception {
+        Object instance = new MethodEnrichedClass();
+        Method testMethod = MethodEnrichedClass.class.getMethod("testMethod", MockDrone.class);
+
+        getManager().getContext(TestContext.class).activate(instance);
+        try {
+            fire(new Before(instance, testMethod));
+            Object[] parameters = testEnricher.resolve(testMethod);
+            fire(new After(instance, testMethod));
+            return (MockDrone) parameters[0];
+        } finally {
+            getManager().getContext(TestContext.class).deactivate();
+        }
+    }
+
+    static class MethodEnrichedClass {
+        public void testMethod(@Drone MockDrone browser) {
+        }
+    }
+}
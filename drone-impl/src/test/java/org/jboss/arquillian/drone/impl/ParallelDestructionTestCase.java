@@ -0,0 +1,306 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.DelegatingMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.command.DestroyDrones;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneDestroyed;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drone points of a test class are destroyed concurrently and within the destruction timeout when the
+ * parallel destruction is enabled
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ParallelDestructionTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+        extensions.add(FailingDestructionObserver.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setMocks(String destructionTimeout, BlockingMockDroneFactory factory) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone")
+            .property("parallelDestruction", "true")
+            .property("destructionTimeoutInSeconds", destructionTimeout)
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+    }
+
+    @Test
+    public void dronesAreDestroyedConcurrently() throws Exception {
+        // both drones have to be destroyed at the same time, otherwise the barrier is broken
+        BlockingMockDroneFactory factory = new BlockingMockDroneFactory(new CyclicBarrier(2), null, false);
+        setMocks("60", factory);
+
+        runTestClass();
+
+        assertEventFired(DestroyDrones.class, 1);
+        assertEventFired(BeforeDroneDestroyed.class, 2);
+        assertEventFired(AfterDroneDestroyed.class, 2);
+        Assert.assertEquals("Both drones were destroyed", 0, factory.destroyed.getCount());
+        assertContextIsEmpty();
+    }
+
+    @Test
+    public void stragglersAreInterruptedAfterTimeout() throws Exception {
+        // the latch is never released, the destruction has to be interrupted
+        BlockingMockDroneFactory factory = new BlockingMockDroneFactory(null, new CountDownLatch(1), false);
+        setMocks("1", factory);
+
+        long start = System.nanoTime();
+        runTestClass();
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+        Assert.assertTrue("Destruction was bounded by the timeout, took " + elapsed + "s", elapsed < 5);
+        Assert.assertTrue("Stuck destructions were interrupted", factory.interrupted.await(5, TimeUnit.SECONDS));
+        assertContextIsEmpty();
+
+        // the interrupted destructors failed, so the drones are not reported as destroyed even at the end of the suite
+        assertEventFired(AfterDroneDestroyed.class, 0);
+        fire(new AfterSuite());
+        assertEventFired(AfterDroneDestroyed.class, 0);
+        Assert.assertEquals("No drone was destroyed", 2, factory.destroyed.getCount());
+    }
+
+    @Test
+    public void hungDronesAreNotReportedAsDestroyed() throws Exception {
+        // the destructors ignore the interruption the same way browsers do
+        CountDownLatch blocker = new CountDownLatch(1);
+        BlockingMockDroneFactory factory = new BlockingMockDroneFactory(null, blocker, true);
+        setMocks("1", factory);
+
+        try {
+            runTestClass();
+            assertEventFired(AfterDroneDestroyed.class, 0);
+            assertContextIsEmpty();
+
+            fire(new AfterSuite());
+            assertEventFired(AfterDroneDestroyed.class, 0);
+            Assert.assertEquals("No drone was destroyed", 2, factory.destroyed.getCount());
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    @Test
+    public void startedDestructionsAreFinishedWhenOtherDroneFails() throws Exception {
+        BlockingMockDroneFactory factory = new BlockingMockDroneFactory(null, null, false);
+        setMocks("60", factory);
+        FailingDestructionObserver.enabled = true;
+
+        try {
+            runTestClass();
+            Assert.fail("Failure of the second drone was propagated");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to destroy drone", e.getMessage());
+        } finally {
+            FailingDestructionObserver.enabled = false;
+        }
+
+        assertEventFired(BeforeDroneDestroyed.class, 2);
+        assertEventFired(AfterDroneDestroyed.class, 1);
+        Assert.assertEquals("Drone destroyed before the failure was disposed", 1, factory.destroyed.getCount());
+        DroneContext context = getManager().resolve(DroneContext.class);
+        Assert.assertEquals("Only the failed drone point was kept in the context", 1,
+            context.find(MockDrone.class).size());
+    }
+
+    @Test
+    public void failedDestructionsAreNotReportedAsDestroyed() throws Exception {
+        BlockingMockDroneFactory factory = new FailingMockDroneFactory();
+        setMocks("60", factory);
+
+        try {
+            runTestClass();
+            Assert.fail("Failure of the destructor was propagated");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Unable to quit browser", e.getMessage());
+        }
+
+        assertEventFired(BeforeDroneDestroyed.class, 2);
+        assertEventFired(AfterDroneDestroyed.class, 1);
+        Assert.assertEquals("Only one drone was destroyed", 1, factory.destroyed.getCount());
+        DroneContext context = getManager().resolve(DroneContext.class);
+        Assert.assertEquals("The drone which failed to be destroyed was kept in the context", 1,
+            context.find(MockDrone.class).size());
+    }
+
+    private void runTestClass() {
+        getManager().getContext(ClassContext.class).activate(DoubleFieldClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(DoubleFieldClass.class));
+
+        DoubleFieldClass instance = new DoubleFieldClass();
+        serviceLoader.onlyOne(TestEnricher.class).enrich(instance);
+        Assert.assertNotNull("First drone was injected", instance.first);
+        Assert.assertNotNull("Second drone was injected", instance.second);
+
+        fire(new AfterClass(DoubleFieldClass.class));
+    }
+
+    private void assertContextIsEmpty() {
+        DroneContext context = getManager().resolve(DroneContext.class);
+        Assert.assertEquals("All drone points were removed from the context", 0,
+            context.find(MockDrone.class).size());
+    }
+
+    static class DoubleFieldClass {
+        @Drone
+        MockDrone first;
+
+        @Drone
+        @Different
+        MockDrone second;
+    }
+
+    public static class BlockingMockDroneFactory extends DelegatingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+
+        private final CyclicBarrier barrier;
+        private final CountDownLatch blocker;
+        private final CountDownLatch destroyed = new CountDownLatch(2);
+        private final CountDownLatch interrupted = new CountDownLatch(2);
+        private final boolean ignoresInterruption;
+
+        BlockingMockDroneFactory(CyclicBarrier barrier, CountDownLatch blocker, boolean ignoresInterruption) {
+            this.barrier = barrier;
+            this.blocker = blocker;
+            this.ignoresInterruption = ignoresInterruption;
+        }
+
+        @Override
+        protected boolean beforeDestroyInstance(MockDrone instance) {
+            try {
+                if (barrier != null) {
+                    barrier.await(5, TimeUnit.SECONDS);
+                }
+                while (blocker != null && !awaitBlocker()) {
+                    // the interruption is swallowed until the blocker is released
+                }
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                // the same way as a browser failing to quit
+                throw new IllegalStateException("Destruction was interrupted", e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Drones were not destroyed concurrently", e);
+            }
+            return true;
+        }
+
+        @Override
+        protected void afterDestroyInstance(MockDrone instance) {
+            destroyed.countDown();
+        }
+
+        private boolean awaitBlocker() throws InterruptedException {
+            try {
+                blocker.await();
+                return true;
+            } catch (InterruptedException e) {
+                if (!ignoresInterruption) {
+                    throw e;
+                }
+                return false;
+            }
+        }
+    }
+
+    public static class FailingMockDroneFactory extends BlockingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+
+        private final AtomicInteger destructions = new AtomicInteger();
+
+        FailingMockDroneFactory() {
+            super(null, null, false);
+        }
+
+        @Override
+        protected boolean beforeDestroyInstance(MockDrone instance) {
+            if (destructions.incrementAndGet() == 2) {
+                throw new IllegalStateException("Unable to quit browser");
+            }
+            return super.beforeDestroyInstance(instance);
+        }
+    }
+
+    public static class FailingDestructionObserver {
+
+        static volatile boolean enabled;
+
+        private int destroyed;
+
+        public void failSecondDestruction(@Observes BeforeDroneDestroyed event) {
+            if (enabled && ++destroyed == 2) {
+                throw new IllegalStateException("Unable to destroy drone");
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.impl.mockdrone.DelegatingMockDroneFactory;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that multiple drone points of a test class or a test method are instantiated concurrently when the parallel
+ * instantiation is enabled
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ParallelInstantiationTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("parallelInstantiation", "true")
+            .extension("mockdrone").property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        // both drones have to be created at the same time, otherwise the barrier is broken
+        BarrierMockDroneFactory factory = new BarrierMockDroneFactory(2);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(Arrays.<Configurator>asList(factory));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(Arrays.<Instantiator>asList(factory));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(Arrays.<Destructor>asList(factory));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+    }
+
+    @Test
+    public void fieldDronesAreInstantiatedConcurrently() throws Exception {
+        getManager().getContext(ClassContext.class).activate(DoubleFieldClass.class);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(DoubleFieldClass.class));
+
+        DoubleFieldClass instance = new DoubleFieldClass();
+        serviceLoader.onlyOne(TestEnricher.class).enrich(instance);
+
+        Assert.assertNotNull("First drone was injected", instance.first);
+        Assert.assertNotNull("Second drone was injected", instance.second);
+        assertEventFired(BeforeDroneInstantiated.class, 2);
+        assertEventFired(AfterDroneInstantiated.class, 2);
+    }
+
+    @Test
+    public void parameterDronesAreInstantiatedConcurrently() throws Exception {
+        getManager().getContext(ClassContext.class).activate(DoubleParameterClass.class);
+
+        Object instance = new DoubleParameterClass();
+        Method testMethod = DoubleParameterClass.class.getMethod("test", MockDrone.class, MockDrone.class);
+        getManager().getContext(TestContext.class).activate(instance);
+
+        fire(new BeforeSuite());
+        fire(new BeforeClass(DoubleParameterClass.class));
+        fire(new Before(instance, testMethod));
+
+        Object[] parameters = serviceLoader.onlyOne(TestEnricher.class).resolve(testMethod);
+
+        Assert.assertNotNull("First drone was resolved", parameters[0]);
+        Assert.assertNotNull("Second drone was resolved", parameters[1]);
+        assertEventFired(BeforeDroneInstantiated.class, 2);
+        assertEventFired(AfterDroneInstantiated.class, 2);
+    }
+
+    static class DoubleFieldClass {
+        @Drone
+        MockDrone first;
+
+        @Drone
+        @Different
+        MockDrone second;
+    }
+
+    static class DoubleParameterClass {
+        public void test(@Drone MockDrone first, @Drone @MethodArgumentOne MockDrone second) {
+        }
+    }
+
+    public static class BarrierMockDroneFactory extends DelegatingMockDroneFactory
+        implements Configurator<MockDrone, MockDroneConfiguration>, Instantiator<MockDrone, MockDroneConfiguration>,
+        Destructor<MockDrone> {
+
+        private final CyclicBarrier barrier;
+
+        BarrierMockDroneFactory(int parties) {
+            this.barrier = new CyclicBarrier(parties);
+        }
+
+        @Override
+        protected void beforeCreateInstance(MockDroneConfiguration configuration) {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Drones were not instantiated concurrently", e);
+            }
+        }
+    }
+}
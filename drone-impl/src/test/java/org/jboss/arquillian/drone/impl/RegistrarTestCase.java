@@ -28,6 +28,7 @@ import org.jboss.arquillian.drone.impl.mockdrone.MockDroneConfiguration;
 import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
 import org.jboss.arquillian.drone.impl.mockdrone.MockDronePriorityFactory;
 import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
 import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
@@ -103,4 +104,85 @@ public class RegistrarTestCase extends AbstractTestTestBase {
         Assert.assertEquals("MockDrone configuration was created by MockDronePriorityFactory",
             MockDronePriorityFactory.MOCK_DRONE_PRIORITY_FACTORY_FIELD, configuration.getField());
     }
+
+    @Test
+    public void testHierarchyResolution() throws Exception {
+        MockDroneFactory factory = new MockDroneFactory();
+        MockDronePriorityFactory priorityFactory = new MockDronePriorityFactory();
+
+        DroneRegistry registry = new DroneRegistryImpl()
+            .registerConfiguratorFor(MockDrone.class, factory)
+            .registerInstantiatorFor(MockDrone.class, factory)
+            .registerConfiguratorFor(Runnable.class, priorityFactory)
+            .registerInstantiatorFor(Runnable.class, priorityFactory)
+            .registerDestructorFor(Runnable.class, priorityFactory);
+
+        Assert.assertSame("Destructor is resolved from the interface", priorityFactory,
+            registry.getEntryFor(MockRunnable.class, Destructor.class));
+
+        try {
+            registry.getEntryFor(RunnableMockDrone.class, Destructor.class);
+            Assert.fail("Destructor was resolved from the interface while the superclass has other entries");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertNull("Destructor is not combined with entries of the superclass",
+            registry.findEntryFor(RunnableMockDrone.class, Destructor.class));
+
+        registry.registerDestructorFor(MockDrone.class, factory);
+        Assert.assertSame("Registering an entry invalidates resolved entries", factory,
+            registry.getEntryFor(RunnableMockDrone.class, Destructor.class));
+    }
+
+    @Test
+    public void testSubtypeIsNotCreatedBySupertypeFactory() throws Exception {
+        MockDroneFactory factory = new MockDroneFactory();
+
+        DroneRegistry registry = new DroneRegistryImpl()
+            .registerConfiguratorFor(MockDrone.class, factory)
+            .registerInstantiatorFor(MockDrone.class, factory)
+            .registerDestructorFor(MockDrone.class, factory);
+
+        // the factory of the supertype would create a MockDrone which cannot be injected as a RunnableMockDrone
+        try {
+            registry.getEntryFor(RunnableMockDrone.class, Configurator.class);
+            Assert.fail("Configurator was resolved from the superclass");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().startsWith("No configurator was found for object of type "
+                + RunnableMockDrone.class.getName()));
+        }
+        Assert.assertNull("Instantiator is not resolved from the superclass",
+            registry.findEntryFor(RunnableMockDrone.class, Instantiator.class));
+
+        Assert.assertSame("Destructor of an instance is resolved from the superclass", factory,
+            registry.getEntryFor(RunnableMockDrone.class, Destructor.class));
+    }
+
+    @Test
+    public void testDefaultFindEntry() throws Exception {
+        final MockDroneFactory factory = new MockDroneFactory();
+        DroneRegistry registry = Mockito.mock(DroneRegistry.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn(factory).when(registry).getEntryFor(MockDrone.class, Configurator.class);
+        Mockito.doThrow(new IllegalStateException()).when(registry).getEntryFor(MockDrone.class, Destructor.class);
+
+        Assert.assertSame("Entry is found through getEntryFor", factory,
+            registry.findEntryFor(MockDrone.class, Configurator.class));
+        Assert.assertNull("Missing entry is not found", registry.findEntryFor(MockDrone.class, Destructor.class));
+    }
+
+    static class RunnableMockDrone extends MockDrone implements Runnable {
+        RunnableMockDrone() {
+            super("runnable");
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+
+    static class MockRunnable implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.api.annotation.lifecycle.SuiteLifecycle;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.AfterDroneReleased;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneReleased;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.SuiteContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drones with suite lifecycle are pooled between test classes and destroyed at the end of the suite
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SuiteLifecycleTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @org.junit.Before
+    public void setMocks() {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class).extension("mockdrone")
+            .property("field", "foobar");
+
+        TestEnricher testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(
+            Arrays.<Configurator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(
+            Arrays.<Instantiator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(
+            Arrays.<Destructor>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.onlyOne(TestEnricher.class)).thenReturn(testEnricher);
+    }
+
+    @Test
+    public void droneIsReusedByNextTestClass() throws Exception {
+        fire(new BeforeSuite());
+
+        FirstClass first = new FirstClass();
+        runTestClass(first);
+
+        assertEventFired(BeforeDroneReleased.class, 1);
+        assertEventFired(AfterDroneReleased.class, 1);
+        assertEventFired(AfterDroneDestroyed.class, 0);
+
+        DronePool pool = getManager().getContext(SuiteContext.class).getObjectStore().get(DronePool.class);
+        Assert.assertEquals("Drone was released into the pool", 1, pool.size());
+
+        SecondClass second = new SecondClass();
+        runTestClass(second);
+
+        Assert.assertSame("Pooled drone was reused", first.browser, second.browser);
+        assertEventFired(AfterDroneInstantiated.class, 1);
+        assertEventFired(AfterDroneReleased.class, 2);
+
+        fire(new AfterSuite());
+
+        assertEventFired(AfterDroneDestroyed.class, 1);
+        Assert.assertEquals("Pool was drained", 0, pool.size());
+    }
+
+    private void runTestClass(Object instance) {
+        getManager().getContext(ClassContext.class).activate(instance.getClass());
+        fire(new BeforeClass(instance.getClass()));
+        serviceLoader.onlyOne(TestEnricher.class).enrich(instance);
+        fire(new AfterClass(instance.getClass()));
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    static class FirstClass {
+        @Drone
+        @SuiteLifecycle
+        MockDrone browser;
+    }
+
+    static class SecondClass {
+        @Drone
+        @SuiteLifecycle
+        MockDrone browser;
+    }
+}
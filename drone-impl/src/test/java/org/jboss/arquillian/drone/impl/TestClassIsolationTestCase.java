@@ -0,0 +1,232 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.drone.api.annotation.Drone;
+import org.jboss.arquillian.drone.api.annotation.lifecycle.SuiteLifecycle;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDrone;
+import org.jboss.arquillian.drone.impl.mockdrone.MockDroneFactory;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.Instantiator;
+import org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed;
+import org.jboss.arquillian.drone.spi.event.AfterDroneReleased;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.context.TestContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drones of test classes running at the same time are isolated and that the context can be used
+ * concurrently
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class TestClassIsolationTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader serviceLoader;
+
+    private TestEnricher testEnricher;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(DroneLifecycleManager.class);
+        extensions.add(DroneRegistrar.class);
+        extensions.add(DroneConfigurator.class);
+        extensions.add(DroneTestEnricher.class);
+        extensions.add(DroneDestructor.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void setMocks(String isolateTestClasses) {
+        ArquillianDescriptor desc = Descriptors.create(ArquillianDescriptor.class)
+            .extension("drone").property("isolateTestClasses", isolateTestClasses)
+            .extension("mockdrone").property("field", "foobar");
+
+        testEnricher = new DroneTestEnricher();
+        getManager().inject(testEnricher);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+        bind(ApplicationScoped.class, ArquillianDescriptor.class, desc);
+        Mockito.when(serviceLoader.all(Configurator.class)).thenReturn(
+            Arrays.<Configurator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Instantiator.class)).thenReturn(
+            Arrays.<Instantiator>asList(new MockDroneFactory()));
+        Mockito.when(serviceLoader.all(Destructor.class)).thenReturn(
+            Arrays.<Destructor>asList(new MockDroneFactory()));
+    }
+
+    @Test
+    public void testClassesHaveTheirOwnDrones() throws Exception {
+        setMocks("true");
+        fire(new BeforeSuite());
+
+        FirstClass first = startClass(new FirstClass());
+        SecondClass second = startClass(new SecondClass());
+
+        Assert.assertNotNull(first.browser);
+        Assert.assertNotSame("Each test class has its own drone", first.browser, second.browser);
+
+        fire(new AfterClass(SecondClass.class));
+        getManager().getContext(ClassContext.class).deactivate();
+        assertEventFired(AfterDroneDestroyed.class, 1);
+
+        Assert.assertEquals("Drone of the running class was kept", 1, droneContext().find(MockDrone.class).size());
+
+        fire(new AfterClass(FirstClass.class));
+        getManager().getContext(ClassContext.class).deactivate();
+        assertEventFired(AfterDroneDestroyed.class, 2);
+    }
+
+    @Test
+    public void suiteDronesAreReleasedOnlyByTheirTestClass() throws Exception {
+        setMocks("true");
+        fire(new BeforeSuite());
+
+        FirstSuiteClass first = startClass(new FirstSuiteClass());
+        SecondSuiteClass second = startClass(new SecondSuiteClass());
+
+        Assert.assertNotNull(first.browser);
+        Assert.assertNotSame("Overlapping test classes do not share a suite drone", first.browser, second.browser);
+
+        fire(new AfterClass(SecondSuiteClass.class));
+        getManager().getContext(ClassContext.class).deactivate();
+        assertEventFired(AfterDroneReleased.class, 1);
+
+        Assert.assertEquals("Suite drone of the running class was kept", 1,
+            droneContext().find(MockDrone.class).size());
+        Assert.assertEquals("Suite drone of the finished class was released", 1,
+            getManager().resolve(DronePool.class).size());
+
+        // the next test class leases the released drone instead of the one still used by the first class
+        ThirdSuiteClass third = startClass(new ThirdSuiteClass());
+        Assert.assertSame("Released suite drone is reused", second.browser, third.browser);
+
+        fire(new AfterClass(FirstSuiteClass.class));
+        fire(new AfterClass(ThirdSuiteClass.class));
+        getManager().getContext(ClassContext.class).deactivate();
+        assertEventFired(AfterDroneReleased.class, 3);
+        assertEventFired(AfterDroneDestroyed.class, 0);
+        Assert.assertEquals(2, getManager().resolve(DronePool.class).size());
+    }
+
+    @Test
+    public void testClassesShareDronesByDefault() throws Exception {
+        setMocks("false");
+        fire(new BeforeSuite());
+
+        FirstClass first = startClass(new FirstClass());
+        SecondClass second = startClass(new SecondClass());
+
+        Assert.assertSame("Drone points of the classes are equal", first.browser, second.browser);
+    }
+
+    @Test
+    public void concurrentLookupsShareDronePointContext() throws Exception {
+        setMocks("true");
+        fire(new BeforeSuite());
+
+        final DroneContext context = droneContext();
+        final DronePoint<MockDrone> dronePoint = new DronePointImpl<MockDrone>(MockDrone.class,
+            DronePoint.Lifecycle.CLASS, FirstClass.class, AnnotationMocks.drone());
+
+        // the drone executor activates the Arquillian contexts in its threads
+        DroneExecutor executor = getManager().resolve(DroneExecutor.class);
+        List<Future<DronePointContext<MockDrone>>> lookups = new ArrayList<Future<DronePointContext<MockDrone>>>();
+        for (int i = 0; i < 64; i++) {
+            lookups.add(executor.submit(new Callable<DronePointContext<MockDrone>>() {
+                @Override
+                public DronePointContext<MockDrone> call() {
+                    return context.get(dronePoint);
+                }
+            }));
+        }
+
+        DronePointContext<MockDrone> pointContext = context.get(dronePoint);
+        for (Future<DronePointContext<MockDrone>> lookup : lookups) {
+            Assert.assertSame(pointContext, lookup.get());
+        }
+
+        Assert.assertEquals(1, context.find(MockDrone.class).size());
+    }
+
+    private <T> T startClass(T instance) {
+        getManager().getContext(ClassContext.class).activate(instance.getClass());
+        fire(new BeforeClass(instance.getClass()));
+
+        getManager().getContext(TestContext.class).activate(instance);
+        try {
+            testEnricher.enrich(instance);
+        } finally {
+            getManager().getContext(TestContext.class).deactivate();
+        }
+        return instance;
+    }
+
+    private DroneContext droneContext() {
+        return getManager().resolve(DroneContext.class);
+    }
+
+    static class FirstClass {
+        @Drone
+        MockDrone browser;
+    }
+
+    static class SecondClass {
+        @Drone
+        MockDrone browser;
+    }
+
+    static class FirstSuiteClass {
+        @Drone
+        @SuiteLifecycle
+        MockDrone browser;
+    }
+
+    static class SecondSuiteClass {
+        @Drone
+        @SuiteLifecycle
+        MockDrone browser;
+    }
+
+    static class ThirdSuiteClass {
+        @Drone
+        @SuiteLifecycle
+        MockDrone browser;
+    }
+}
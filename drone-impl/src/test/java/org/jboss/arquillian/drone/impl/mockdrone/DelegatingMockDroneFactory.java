@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.impl.mockdrone;
+
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.drone.spi.Configurator;
+import org.jboss.arquillian.drone.spi.Destructor;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.Instantiator;
+
+/**
+ * Factory delegating to {@link MockDroneFactory}, tests override the hooks to control timing of the instantiation
+ * and the destruction. Subclasses have to declare the factory interfaces again, as the registrar reads the drone type
+ * from the interfaces implemented directly.
+ */
+public class DelegatingMockDroneFactory implements Configurator<MockDrone, MockDroneConfiguration>,
+    Instantiator<MockDrone, MockDroneConfiguration>, Destructor<MockDrone> {
+
+    private final MockDroneFactory delegate = new MockDroneFactory();
+
+    @Override
+    public int getPrecedence() {
+        return 0;
+    }
+
+    @Override
+    public MockDroneConfiguration createConfiguration(ArquillianDescriptor descriptor,
+        DronePoint<MockDrone> dronePoint) {
+        return delegate.createConfiguration(descriptor, dronePoint);
+    }
+
+    @Override
+    public MockDrone createInstance(MockDroneConfiguration configuration) {
+        beforeCreateInstance(configuration);
+        MockDrone instance = delegate.createInstance(configuration);
+        afterCreateInstance(instance);
+        return instance;
+    }
+
+    @Override
+    public void destroyInstance(MockDrone instance) {
+        if (beforeDestroyInstance(instance)) {
+            delegate.destroyInstance(instance);
+            afterDestroyInstance(instance);
+        }
+    }
+
+    protected void beforeCreateInstance(MockDroneConfiguration configuration) {
+    }
+
+    protected void afterCreateInstance(MockDrone instance) {
+    }
+
+    /**
+     * Returns false if the instance should not be destroyed
+     */
+    protected boolean beforeDestroyInstance(MockDrone instance) {
+        return true;
+    }
+
+    protected void afterDestroyInstance(MockDrone instance) {
+    }
+}
@@ -67,6 +67,13 @@ public interface DronePoint<DRONE> {
          * Deployment lifecycle means the drone will be prepared in {@link BeforeClass} and destroyed in
          * {@link BeforeUnDeploy}.
          */
-        DEPLOYMENT
+        DEPLOYMENT,
+
+        /**
+         * Suite lifecycle means the drone will be prepared in {@link BeforeClass}, released to a pool in
+         * {@link AfterClass} and destroyed in {@link AfterSuite}. Test classes with the same drone point share the pooled
+         * instance.
+         */
+        SUITE
     }
 }
\ No newline at end of file
@@ -38,6 +38,26 @@ public interface DroneRegistry {
      */
     <E extends Sortable> E getEntryFor(Class<?> key, Class<E> entryType) throws IllegalStateException;
 
+    /**
+     * Finds an entry for given key and type, the same way as {@link #getEntryFor(Class, Class)} does
+     *
+     * @param key
+     *     the key
+     * @param entryType
+     *     the type of the entry, that is {@link Configurator}, {@link Instantiator} or {@link Destructor}
+     * @param <E>
+     *     the entry type
+     *
+     * @return The SPI object for given type or {@code null} if no given entry exists for key and entryType combination
+     */
+    default <E extends Sortable> E findEntryFor(Class<?> key, Class<E> entryType) {
+        try {
+            return getEntryFor(key, entryType);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
     /**
      * Registers a configurator for given object type
      *
@@ -0,0 +1,37 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.spi;
+
+/**
+ * Optionally implemented by an {@link Instantiator} to declare the interfaces of a drone before it is created. If the
+ * lazy injection is enabled, the proxy injected instead of the drone implements these interfaces, so it can be cast
+ * to them the same way the drone itself can.
+ *
+ * @param <C>
+ *     Type of drone configurations
+ */
+public interface InstanceInterfaces<C extends DroneConfiguration<C>> {
+    /**
+     * Returns the interfaces implemented by the drone which would be created from the given configuration
+     *
+     * @param configuration
+     *     the configuration of the drone
+     *
+     * @return Interfaces of the drone
+     */
+    Class<?>[] getInstanceInterfaces(C configuration);
+}
@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.spi.command;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import org.jboss.arquillian.drone.spi.DronePoint;
+
+/**
+ * Command event that will trigger the destruction of several independent drones at once, so they might be destroyed
+ * concurrently. After fired, {@link org.jboss.arquillian.drone.spi.DroneContext} should no longer contain any of the
+ * specified injection points.
+ */
+public class DestroyDrones {
+
+    private final Collection<DronePoint<?>> dronePoints;
+
+    public DestroyDrones(Collection<? extends DronePoint<?>> dronePoints) {
+        this.dronePoints = Collections.unmodifiableList(new ArrayList<DronePoint<?>>(dronePoints));
+    }
+
+    public Collection<DronePoint<?>> getDronePoints() {
+        return dronePoints;
+    }
+}
@@ -20,7 +20,9 @@ import org.jboss.arquillian.drone.spi.DroneContext;
 import org.jboss.arquillian.drone.spi.DronePoint;
 
 /**
- * This event is called after Drone instance is destroyed and it is no longer available in the {@link DroneContext}
+ * This event is called after Drone instance is destroyed and it is no longer available in the {@link DroneContext}. If
+ * the asynchronous destruction is enabled, the event is called as soon as the destruction is scheduled, the instance
+ * might still be being destroyed in the background.
  *
  * @author <a href="mailto:kpiwko@redhat.com">Karel Piwko</a>
  */
@@ -47,6 +47,13 @@ public class DeploymentFilter implements DronePointFilter<Object> {
     @Override
     public boolean accepts(DroneContext context, DronePoint<?> dronePoint) {
         String deploymentName = context.get(dronePoint).getMetadata(DeploymentNameKey.class);
+        return matches(deploymentName);
+    }
+
+    /**
+     * Returns true if the given deployment name matches the regex of this filter.
+     */
+    public boolean matches(String deploymentName) {
         if (deploymentName == null) {
             return false;
         }
@@ -16,6 +16,7 @@
  */
 package org.jboss.arquillian.drone.spi.filter;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import org.jboss.arquillian.drone.spi.DroneContext;
@@ -55,6 +56,13 @@ public class LifecycleFilter implements DronePointFilter<Object> {
         }
     }
 
+    /**
+     * Returns lifecycles matched by this filter.
+     */
+    public Set<DronePoint.Lifecycle> getLifecycles() {
+        return Collections.unmodifiableSet(lifecycles);
+    }
+
     @Override
     public boolean accepts(DroneContext context, DronePoint<?> dronePoint) {
         return lifecycles.contains(dronePoint.getLifecycle());
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.spi.metrics;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram of a single {@link DronePhase} for drones of given type and qualifier. Percentiles are estimated,
+ * their relative error is bounded by the resolution of the histogram.
+ */
+public interface DroneLatencyHistogram {
+
+    DronePhase getPhase();
+
+    Class<?> getDroneType();
+
+    Class<? extends Annotation> getQualifier();
+
+    /**
+     * Returns the number of recorded values
+     *
+     * @return number of recorded values
+     */
+    long getCount();
+
+    long getTotal(TimeUnit unit);
+
+    long getMin(TimeUnit unit);
+
+    long getMax(TimeUnit unit);
+
+    long getMean(TimeUnit unit);
+
+    /**
+     * Returns the estimated value below which given percentage of recorded values falls
+     *
+     * @param percentile
+     *     Percentile between 0 and 100
+     * @param unit
+     *     Unit of the returned value
+     *
+     * @return estimated percentile value, 0 if there are no recorded values
+     */
+    long getPercentile(double percentile, TimeUnit unit);
+}
@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.spi.metrics;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * Latency metrics of the Drone life cycle recorded during the suite. Available as a suite scoped instance.
+ */
+public interface DroneMetrics {
+
+    /**
+     * Returns a snapshot of all histograms recorded so far
+     *
+     * @return histograms ordered by drone type, qualifier and phase
+     */
+    List<DroneLatencyHistogram> getHistograms();
+
+    /**
+     * Returns the histogram of given phase for drones of given type and qualifier
+     *
+     * @return the histogram or {@code null} if nothing was recorded yet
+     */
+    DroneLatencyHistogram getHistogram(DronePhase phase, Class<?> droneType, Class<? extends Annotation> qualifier);
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.spi.metrics;
+
+/**
+ * Phases of the Drone life cycle whose latency is recorded. Each phase is delimited by a pair of Drone events.
+ */
+public enum DronePhase {
+    /**
+     * Configuration of the drone, between {@link org.jboss.arquillian.drone.spi.event.BeforeDronePrepared} and
+     * {@link org.jboss.arquillian.drone.spi.event.AfterDronePrepared}
+     */
+    PREPARE,
+
+    /**
+     * Instantiation of the drone, between {@link org.jboss.arquillian.drone.spi.event.BeforeDroneInstantiated} and
+     * {@link org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated}
+     */
+    INSTANTIATE,
+
+    /**
+     * Enhancement of the drone by a single enhancer, between
+     * {@link org.jboss.arquillian.drone.spi.event.BeforeDroneEnhanced} and
+     * {@link org.jboss.arquillian.drone.spi.event.AfterDroneEnhanced}
+     */
+    ENHANCE,
+
+    /**
+     * Deenhancement of the drone by a single enhancer, between
+     * {@link org.jboss.arquillian.drone.spi.event.BeforeDroneDeenhanced} and
+     * {@link org.jboss.arquillian.drone.spi.event.AfterDroneDeenhanced}
+     */
+    DEENHANCE,
+
+    /**
+     * Destruction of the drone, between {@link org.jboss.arquillian.drone.spi.event.BeforeDroneDestroyed} and
+     * {@link org.jboss.arquillian.drone.spi.event.AfterDroneDestroyed}
+     */
+    DESTROY
+}
@@ -36,10 +36,12 @@ import org.jboss.arquillian.drone.webdriver.factory.PhantomJSDriverFactory;
 import org.jboss.arquillian.drone.webdriver.factory.RemoteWebDriverFactory;
 import org.jboss.arquillian.drone.webdriver.factory.SafariDriverFactory;
 import org.jboss.arquillian.drone.webdriver.factory.WebDriverFactory;
+import org.jboss.arquillian.drone.webdriver.factory.remote.HedgedSessionCreatorLifecycle;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.ReusableRemoteWebDriverExtension;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.ReusedSessionPermanentFileStorage;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.ReusedSessionPermanentStorage;
 import org.jboss.arquillian.drone.webdriver.impl.BrowserCapabilitiesRegistrar;
+import org.jboss.arquillian.drone.webdriver.reset.BrowserStateResetter;
 import org.jboss.arquillian.drone.webdriver.spi.BrowserCapabilities;
 import org.jboss.arquillian.drone.webdriver.window.WindowResizer;
 
@@ -93,7 +95,9 @@ public class DroneWebDriverExtension implements LoadableExtension {
 
         builder.service(DroneInstanceEnhancer.class, AugmentingEnhancer.class);
         builder.observer(WindowResizer.class);
+        builder.observer(BrowserStateResetter.class);
         builder.observer(SeleniumServerExecutor.class);
+        builder.observer(HedgedSessionCreatorLifecycle.class);
     }
 
     private <T extends Configurator & Instantiator & Destructor> void registerFactoryService(
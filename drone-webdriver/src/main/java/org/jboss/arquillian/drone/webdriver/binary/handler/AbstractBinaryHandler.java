@@ -5,6 +5,8 @@ import org.jboss.arquillian.drone.webdriver.binary.BinaryFilesUtils;
 import org.jboss.arquillian.drone.webdriver.binary.downloading.Downloader;
 import org.jboss.arquillian.drone.webdriver.binary.downloading.ExternalBinary;
 import org.jboss.arquillian.drone.webdriver.binary.downloading.source.ExternalBinarySource;
+import org.jboss.arquillian.drone.webdriver.jfr.FlightRecorderEvents;
+import org.jboss.arquillian.drone.webdriver.jfr.RecordedPhase;
 import org.jboss.arquillian.drone.webdriver.utils.Constants;
 import org.jboss.arquillian.drone.webdriver.utils.PropertySecurityAction;
 import org.jboss.arquillian.drone.webdriver.utils.Validate;
@@ -223,7 +225,12 @@ public abstract class AbstractBinaryHandler implements BinaryHandler {
      *     If anything bad happens
      */
     protected File downloadAndPrepare(File targetDir, URL from) throws Exception {
-        File downloaded = Downloader.download(targetDir, from);
+        File downloaded;
+        try (RecordedPhase download = FlightRecorderEvents.binaryDownload(getArquillianCacheSubdirectory(),
+            getCapabilities().getBrowserName(), from)) {
+            downloaded = Downloader.download(targetDir, from);
+            download.succeeded();
+        }
         return prepare(downloaded);
     }
 
@@ -235,7 +242,12 @@ public abstract class AbstractBinaryHandler implements BinaryHandler {
      * @throws Exception If anything bad happens
      */
     protected File prepare(File downloaded) throws Exception {
-        File extraction = BinaryFilesUtils.extract(downloaded);
+        File extraction;
+        try (RecordedPhase extract = FlightRecorderEvents.binaryExtraction(getArquillianCacheSubdirectory(),
+            getCapabilities().getBrowserName(), downloaded)) {
+            extraction = BinaryFilesUtils.extract(downloaded);
+            extract.succeeded();
+        }
         File[] files = extraction.listFiles(file -> file.isFile());
         if (files == null || files.length == 0) {
             throw new IllegalStateException(
@@ -24,6 +24,8 @@ import org.jboss.arquillian.drone.webdriver.binary.handler.FirefoxDriverBinaryHa
 import org.jboss.arquillian.drone.webdriver.binary.handler.InternetExplorerBinaryHandler;
 import org.jboss.arquillian.drone.webdriver.binary.handler.PhantomJSDriverBinaryHandler;
 import org.jboss.arquillian.drone.webdriver.factory.BrowserCapabilitiesList;
+import org.jboss.arquillian.drone.webdriver.jfr.FlightRecorderEvents;
+import org.jboss.arquillian.drone.webdriver.jfr.RecordedPhase;
 import org.jboss.arquillian.drone.webdriver.utils.Validate;
 import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
 import org.openqa.selenium.remote.DesiredCapabilities;
@@ -68,7 +70,7 @@ public class SeleniumServerExecutor {
             }
         }
 
-        try {
+        try (RecordedPhase startup = FlightRecorderEvents.seleniumServerStartup(browser, port)) {
             List<String> parameterList =
                 new ArrayList<>(Arrays.asList("-jar", seleniumServer, "-port", String.valueOf(port)));
 
@@ -81,6 +83,7 @@ public class SeleniumServerExecutor {
             SeleniumServerExecution execution = new SeleniumServerExecution().execute(build);
 
             seleniumServerExecutionInstanceProducer.set(execution);
+            startup.succeeded();
         } catch (Exception e) {
             throw new IllegalStateException(
                 "Something bad happened when Drone was trying to run Selenium Server binary: " + seleniumServer
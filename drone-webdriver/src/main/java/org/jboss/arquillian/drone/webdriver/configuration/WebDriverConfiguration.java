@@ -25,16 +25,18 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
 import org.jboss.arquillian.drone.configuration.ConfigurationMapper;
+import org.jboss.arquillian.drone.configuration.DescriptorProperties;
 import org.jboss.arquillian.drone.spi.DroneConfiguration;
 import org.jboss.arquillian.drone.webdriver.factory.BrowserCapabilitiesList;
 import org.jboss.arquillian.drone.webdriver.spi.BrowserCapabilities;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
 /**
  * Generic configuration for WebDriver Driver. By default, it uses HtmlUnit Driver.
  */
-public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfiguration> {
+public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfiguration>, Cloneable {
 
     public static final String CONFIGURATION_NAME = "webdriver";
     public static final String DEFAULT_BROWSER_CAPABILITIES = new BrowserCapabilitiesList.HtmlUnit().getReadableName();
@@ -60,6 +62,12 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
 
     private boolean remote;
 
+    private boolean remoteSessionHedging;
+
+    private int remoteSessionHedgingPercentile = 95;
+
+    private long remoteSessionHedgingDelayInMillis = 30000;
+
     private String seleniumServerArgs;
 
     // ARQ-1206, ability to delete all cookies in reused browsers
@@ -75,6 +83,12 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
 
     private BrowserCapabilities _browser;
 
+    // merged capabilities together with the state they were merged from, see getCapabilities()
+    private volatile CapabilitiesSnapshot _capabilities;
+
+    // incremented whenever the configuration is mapped, so a snapshot can be validated without comparing the maps
+    private int _capabilitiesVersion;
+
     public WebDriverConfiguration(BrowserCapabilities browser) {
         if (browser != null) {
             this._browser = browser;
@@ -93,6 +107,19 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
     @Override
     public WebDriverConfiguration configure(ArquillianDescriptor descriptor, Class<? extends Annotation> qualifier) {
         ConfigurationMapper.fromArquillianDescriptor(descriptor, this, qualifier);
+        return configured();
+    }
+
+    /**
+     * Configures the configuration from properties already read from the descriptor
+     */
+    public WebDriverConfiguration configure(DescriptorProperties properties, Class<? extends Annotation> qualifier) {
+        ConfigurationMapper.fromDescriptorProperties(properties, this, qualifier);
+        return configured();
+    }
+
+    private WebDriverConfiguration configured() {
+        _capabilitiesVersion++;
 
         // ARQ-1022, we need to check if we haven't overriden original browser
         // capabilities in an incompatible way
@@ -105,6 +132,22 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
         return this;
     }
 
+    /**
+     * Returns a copy of this configuration, so the configuration can serve as a template for many drone points. The
+     * capability map is copied as well, so changes made to the copy never affect this configuration.
+     */
+    public WebDriverConfiguration copy() {
+        try {
+            WebDriverConfiguration copy = (WebDriverConfiguration) super.clone();
+            if (capabilityMap != null) {
+                copy.capabilityMap = new HashMap<String, Object>(capabilityMap);
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to copy WebDriver configuration", e);
+        }
+    }
+
     public String getBrowser() {
 
         if (_browser != null) {
@@ -119,12 +162,14 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
     }
 
     public Capabilities getCapabilities() {
-        // return a merge of original capability plus capabilities user has specified in configuration
-        // safely ignore null value here
-        return new DesiredCapabilities(new DesiredCapabilities(
-            _browser.getRawCapabilities() == null ? new HashMap<String, Object>()
-                : _browser.getRawCapabilities()),
-            new DesiredCapabilities(this.capabilityMap));
+        // the merge is done only if the browser or the capabilities user has specified changed since the last call,
+        // callers still get their own mutable copy
+        CapabilitiesSnapshot snapshot = _capabilities;
+        if (snapshot == null || !snapshot.isMergedFrom(_browser, _capabilitiesVersion)) {
+            snapshot = new CapabilitiesSnapshot(_browser, _capabilitiesVersion, capabilityMap);
+            _capabilities = snapshot;
+        }
+        return new DesiredCapabilities(snapshot.capabilities);
     }
 
     public String getSeleniumServerArgs() {
@@ -176,6 +221,30 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
         this.remoteReusable = remoteReusable;
     }
 
+    public boolean isRemoteSessionHedging() {
+        return remoteSessionHedging;
+    }
+
+    public void setRemoteSessionHedging(boolean remoteSessionHedging) {
+        this.remoteSessionHedging = remoteSessionHedging;
+    }
+
+    public int getRemoteSessionHedgingPercentile() {
+        return remoteSessionHedgingPercentile;
+    }
+
+    public void setRemoteSessionHedgingPercentile(int remoteSessionHedgingPercentile) {
+        this.remoteSessionHedgingPercentile = remoteSessionHedgingPercentile;
+    }
+
+    public long getRemoteSessionHedgingDelayInMillis() {
+        return remoteSessionHedgingDelayInMillis;
+    }
+
+    public void setRemoteSessionHedgingDelayInMillis(long remoteSessionHedgingDelayInMillis) {
+        this.remoteSessionHedgingDelayInMillis = remoteSessionHedgingDelayInMillis;
+    }
+
     public String getDimensions() {
         return dimensions;
     }
@@ -191,4 +260,27 @@ public class WebDriverConfiguration implements DroneConfiguration<WebDriverConfi
     public void setReuseCookies(boolean reuseCookies) {
         this.reuseCookies = reuseCookies;
     }
+
+    /**
+     * Immutable merge of original capabilities plus capabilities user has specified in configuration
+     */
+    private static final class CapabilitiesSnapshot {
+
+        private final BrowserCapabilities browser;
+        private final int version;
+        private final Capabilities capabilities;
+
+        CapabilitiesSnapshot(BrowserCapabilities browser, int version, Map<String, Object> capabilityMap) {
+            this.browser = browser;
+            this.version = version;
+            // safely ignore null value here
+            this.capabilities = new ImmutableCapabilities(new DesiredCapabilities(new DesiredCapabilities(
+                browser.getRawCapabilities() == null ? new HashMap<String, Object>() : browser.getRawCapabilities()),
+                new DesiredCapabilities(capabilityMap)));
+        }
+
+        boolean isMergedFrom(BrowserCapabilities browser, int version) {
+            return this.browser == browser && this.version == version;
+        }
+    }
 }
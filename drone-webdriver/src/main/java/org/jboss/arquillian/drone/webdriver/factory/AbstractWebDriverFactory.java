@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.drone.configuration.DescriptorProperties;
 import org.jboss.arquillian.drone.spi.Configurator;
 import org.jboss.arquillian.drone.spi.DronePoint;
 import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
@@ -20,18 +21,41 @@ abstract class AbstractWebDriverFactory<T extends WebDriver> implements Configur
     @Inject
     protected Instance<BrowserCapabilitiesRegistry> registryInstance;
 
+    @Inject
+    protected Instance<DescriptorProperties> descriptorPropertiesInstance;
+
+    private final ConfigurationTemplates templates = new ConfigurationTemplates();
+
     protected abstract String getDriverReadableName();
 
     @Override
     public WebDriverConfiguration createConfiguration(ArquillianDescriptor descriptor, DronePoint<T>
         dronePoint) {
 
+        // the descriptor of the suite was already read, a descriptor from elsewhere is mapped every time
+        DescriptorProperties properties = descriptorPropertiesInstance.get();
+        if (properties == null || !properties.isReadFrom(descriptor)) {
+            return mapConfiguration(descriptor, null, dronePoint);
+        }
+
+        // drone points with the same qualifier share the mapped configuration, each of them gets its own copy
+        WebDriverConfiguration configuration = templates.copyOf(properties, dronePoint.getQualifier());
+        if (configuration == null) {
+            configuration = mapConfiguration(descriptor, properties, dronePoint);
+            templates.store(properties, dronePoint.getQualifier(), configuration);
+        }
+        return configuration;
+    }
+
+    private WebDriverConfiguration mapConfiguration(ArquillianDescriptor descriptor, DescriptorProperties properties,
+        DronePoint<T> dronePoint) {
         BrowserCapabilitiesRegistry registry = registryInstance.get();
 
         // first, try to create a BrowserCapabilities object based on Field/Parameter type of @Drone annotated field
         BrowserCapabilities browser = registry.getEntryFor(getDriverReadableName());
-        WebDriverConfiguration configuration = new WebDriverConfiguration(browser).configure(descriptor,
-            dronePoint.getQualifier());
+        WebDriverConfiguration configuration = properties != null
+            ? new WebDriverConfiguration(browser).configure(properties, dronePoint.getQualifier())
+            : new WebDriverConfiguration(browser).configure(descriptor, dronePoint.getQualifier());
 
         // if not set, we hit a webdriver configuration and we want to use browser capabilities
         if (browser == null && Validate.nonEmpty(configuration.getBrowser())) {
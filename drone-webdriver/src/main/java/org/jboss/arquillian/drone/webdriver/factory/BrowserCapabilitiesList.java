@@ -3,6 +3,8 @@ package org.jboss.arquillian.drone.webdriver.factory;
 import org.jboss.arquillian.drone.webdriver.spi.BrowserCapabilities;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -15,8 +17,15 @@ import java.util.Map;
  */
 public class BrowserCapabilitiesList {
 
+    // raw capabilities never change, so they are created only once per browser and shared as an unmodifiable map
+    private static Map<String, ?> rawCapabilities(DesiredCapabilities capabilities) {
+        return Collections.unmodifiableMap(new HashMap<String, Object>(capabilities.asMap()));
+    }
+
     public static class Chrome implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.chrome());
+
         @Override
         public String getImplementationClassName() {
             return "org.openqa.selenium.chrome.ChromeDriver";
@@ -24,7 +33,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.chrome().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -40,6 +49,8 @@ public class BrowserCapabilitiesList {
 
     public static class Edge implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.edge());
+
         @Override
         public String getImplementationClassName() {
             return "org.openqa.selenium.edge.EdgeDriver";
@@ -47,7 +58,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.edge().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -63,6 +74,8 @@ public class BrowserCapabilitiesList {
 
     public static class Firefox implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.firefox());
+
         @Override
         public String getImplementationClassName() {
             return "org.openqa.selenium.firefox.FirefoxDriver";
@@ -70,7 +83,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.firefox().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -86,6 +99,8 @@ public class BrowserCapabilitiesList {
 
     public static class HtmlUnit implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.htmlUnit());
+
         @Override
         public String getImplementationClassName() {
             return "org.jboss.arquillian.drone.webdriver.htmlunit.DroneHtmlUnitDriver";
@@ -93,7 +108,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.htmlUnit().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -109,6 +124,8 @@ public class BrowserCapabilitiesList {
 
     public static class InternetExplorer implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.internetExplorer());
+
         @Override
         public String getImplementationClassName() {
             return "org.openqa.selenium.ie.InternetExplorerDriver";
@@ -116,7 +133,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.internetExplorer().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -132,6 +149,8 @@ public class BrowserCapabilitiesList {
 
     public static class Opera implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.operaBlink());
+
         @Override
         public String getImplementationClassName() {
             return "org.openqa.selenium.opera.OperaDriver";
@@ -139,7 +158,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.operaBlink().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -178,6 +197,8 @@ public class BrowserCapabilitiesList {
 
     public static class Safari implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.safari());
+
         @Override
         public String getReadableName() {
             return "safari";
@@ -190,7 +211,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.safari().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -201,6 +222,8 @@ public class BrowserCapabilitiesList {
 
     public static class PhantomJS implements BrowserCapabilities {
 
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.phantomjs());
+
         @Override
         public String getReadableName() {
             return "phantomjs";
@@ -213,7 +236,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.phantomjs().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
@@ -223,6 +246,9 @@ public class BrowserCapabilitiesList {
     }
 
     public static class ChromeHeadless implements BrowserCapabilities {
+
+        private static final Map<String, ?> RAW_CAPABILITIES = rawCapabilities(DesiredCapabilities.chrome());
+
         @Override
         public String getReadableName() {
             return "chromeheadless";
@@ -235,7 +261,7 @@ public class BrowserCapabilitiesList {
 
         @Override
         public Map<String, ?> getRawCapabilities() {
-            return DesiredCapabilities.chrome().asMap();
+            return RAW_CAPABILITIES;
         }
 
         @Override
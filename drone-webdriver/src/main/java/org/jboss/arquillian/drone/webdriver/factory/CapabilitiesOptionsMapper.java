@@ -23,14 +23,17 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import org.jboss.arquillian.drone.configuration.ConfigurationMapper;
 import org.jboss.arquillian.drone.configuration.mapping.ValueMapper;
 import org.jboss.arquillian.drone.webdriver.utils.StringUtils;
@@ -43,6 +46,18 @@ import org.openqa.selenium.remote.DesiredCapabilities;
 public class CapabilitiesOptionsMapper {
 
     private static final Gson GSON = new Gson();
+    private static final JsonParser JSON_PARSER = new JsonParser();
+    private static final Type MAP_OF_STRINGS = new TypeToken<Map<String, String>>() {
+    }.getType();
+
+    // Setters of an options class are scanned only once per class and browser prefix
+    private static final ClassValue<ConcurrentMap<String, Map<String, List<Overloads>>>> OPTIONS_SETTERS =
+        new ClassValue<ConcurrentMap<String, Map<String, List<Overloads>>>>() {
+            @Override
+            protected ConcurrentMap<String, Map<String, List<Overloads>>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<String, Map<String, List<Overloads>>>();
+            }
+        };
 
     /**
      * Parses capabilities set in {@link DesiredCapabilities} and according to set-method names it sets the values into
@@ -59,61 +74,106 @@ public class CapabilitiesOptionsMapper {
      */
     public static void mapCapabilities(Object object, DesiredCapabilities capabilities, String browserPrefix) {
 
-        Method[] methods = object.getClass().getMethods();
-        List<String> processedMethods = new ArrayList<String>();
+        Map<String, List<Overloads>> setters = settersOf(object.getClass(), browserPrefix);
 
-        for (Method method : methods) {
-            if (isSetter(method)) {
+        for (Map.Entry<String, ?> entry : capabilities.asMap().entrySet()) {
+            List<Overloads> propertySetters = setters.get(entry.getKey());
+            if (propertySetters == null) {
+                continue;
+            }
 
-                method.setAccessible(true);
-                String methodName = method.getName();
-                if (processedMethods.contains(methodName)) {
-                    continue;
+            String capability = (String) entry.getValue();
+            if (Validate.nonEmpty(capability)) {
+                for (Overloads overloads : propertySetters) {
+                    overloads.apply(object, capability);
                 }
+            }
+        }
+    }
 
-                String propertyName = browserPrefix + methodName.substring(3);
-                propertyName = Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
-                String capability = (String) capabilities.getCapability(propertyName);
-
-                if (Validate.nonEmpty(capability)) {
-                    try {
-                        if (method.getParameterTypes().length == 1) {
-                            Object converted = convert(method, capability);
-                            if (converted != null) {
-                                method.invoke(object, converted);
-                                processedMethods.add(methodName);
-                            }
-                        } else if (shouldContainDictionaries(method)) {
-                            handleDictionaries(object, method, capability);
-                            processedMethods.add(methodName);
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
+    private static Map<String, List<Overloads>> settersOf(Class<?> optionsClass, String browserPrefix) {
+        ConcurrentMap<String, Map<String, List<Overloads>>> cache = OPTIONS_SETTERS.get(optionsClass);
+        Map<String, List<Overloads>> setters = cache.get(browserPrefix);
+        if (setters == null) {
+            setters = scanSetters(optionsClass, browserPrefix);
+            Map<String, List<Overloads>> existing = cache.putIfAbsent(browserPrefix, setters);
+            if (existing != null) {
+                setters = existing;
+            }
+        }
+        return setters;
+    }
+
+    /**
+     * Returns overloaded setters grouped by their names, the groups are keyed by the name of the capability their
+     * value is mapped from
+     */
+    private static Map<String, List<Overloads>> scanSetters(Class<?> optionsClass, String browserPrefix) {
+        Map<String, List<Setter>> methodsByName = new LinkedHashMap<String, List<Setter>>();
+
+        for (Method method : optionsClass.getMethods()) {
+            if (isSetter(method)) {
+                Setter setter = createSetter(method);
+                if (setter != null) {
+                    List<Setter> overloads = methodsByName.get(method.getName());
+                    if (overloads == null) {
+                        overloads = new ArrayList<Setter>();
+                        methodsByName.put(method.getName(), overloads);
                     }
+                    overloads.add(setter);
                 }
             }
         }
+
+        Map<String, List<Overloads>> setters = new LinkedHashMap<String, List<Overloads>>();
+        for (Map.Entry<String, List<Setter>> entry : methodsByName.entrySet()) {
+            String propertyName = browserPrefix + entry.getKey().substring(3);
+            propertyName = Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+
+            List<Overloads> propertySetters = setters.get(propertyName);
+            if (propertySetters == null) {
+                propertySetters = new ArrayList<Overloads>(1);
+                setters.put(propertyName, propertySetters);
+            }
+            propertySetters.add(new Overloads(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(setters);
+    }
+
+    /**
+     * Returns a setter of the given method, or null if there is no way to convert a capability to its parameters
+     */
+    private static Setter createSetter(Method method) {
+        if (method.getParameterTypes().length == 1) {
+            Function<String, Object> converter = converterFor(method);
+            return converter != null ? new ValueSetter(accessible(method), converter) : null;
+        } else if (shouldContainDictionaries(method)) {
+            return new DictionarySetter(accessible(method));
+        }
+        return null;
     }
 
-    private static void handleDictionaries(Object object, Method method, String capability)
-        throws InvocationTargetException, IllegalAccessException {
+    private static Method accessible(Method method) {
+        method.setAccessible(true);
+        return method;
+    }
+
+    private static void handleDictionaries(Method setter, Object object, String capability) throws Exception {
 
         String trimmedCapability = StringUtils.trimMultiline(capability);
-        JsonObject json = new JsonParser().parse(trimmedCapability).getAsJsonObject();
-        Set<Map.Entry<String, JsonElement>> entries = json.entrySet();
-        final Type type = new TypeToken<Map<String, String>>() {
-        }.getType();
+        JsonObject json = JSON_PARSER.parse(trimmedCapability).getAsJsonObject();
 
-        for (Map.Entry<String, JsonElement> entry : entries) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
             String key = entry.getKey();
             Object value = null;
             if (entry.getValue().isJsonObject()) {
-                value = GSON.fromJson(entry.getValue(), type);
+                value = GSON.fromJson(entry.getValue(), MAP_OF_STRINGS);
 
             } else if (entry.getValue().isJsonPrimitive()) {
                 value = convertJsonPrimitive2Java((JsonPrimitive) entry.getValue());
             }
-            method.invoke(object, key, value);
+            setter.invoke(object, key, value);
         }
     }
 
@@ -139,28 +199,30 @@ public class CapabilitiesOptionsMapper {
                     || method.getParameterTypes()[1].isAssignableFrom(Map.class));
     }
 
-    private static Object convert(Method method, String capability) {
+    private static Function<String, Object> converterFor(Method method) {
         Class<?> parameterType = method.getParameterTypes()[0];
-        Object converted;
+        ValueMapper<?> mapper;
 
-        if ((converted = convertToBooleanNumberStringOrFile(parameterType, capability)) != null) {
-            return converted;
+        if ((mapper = mapperFor(parameterType)) != null) {
+            return mapper::transform;
         } else if (parameterType.isArray()) {
-            return handleArray(parameterType.getComponentType(), capability);
+            Class<?> componentType = parameterType.getComponentType();
+            ValueMapper<?> componentMapper = mapperFor(componentType);
+            return capability -> handleArray(componentType, componentMapper, capability);
         } else if (parameterType.isAssignableFrom(List.class)) {
-            return handleList(method, capability);
+            return listConverterFor(method);
         }
 
         return null;
     }
 
-    private static <T> T[] handleArray(Class<T> parameterType, String capability) {
-        List<T> convertedList = getConvertedList(parameterType, capability);
-        T[] array = (T[]) Array.newInstance(parameterType, convertedList.size());
+    private static Object handleArray(Class<?> componentType, ValueMapper<?> mapper, String capability) {
+        List<Object> convertedList = getConvertedList(mapper, capability);
+        Object[] array = (Object[]) Array.newInstance(componentType, convertedList.size());
         return convertedList.toArray(array);
     }
 
-    private static Object handleList(Method method, String capability) {
+    private static Function<String, Object> listConverterFor(Method method) {
 
         Type[] genericParameterTypes = method.getGenericParameterTypes();
         if (genericParameterTypes.length == 1) {
@@ -168,30 +230,31 @@ public class CapabilitiesOptionsMapper {
 
             if (type instanceof ParameterizedType) {
                 Type[] parameters = ((ParameterizedType) type).getActualTypeArguments();
-                if (parameters.length == 1) {
-                    return getConvertedList((Class<Object>) parameters[0], capability);
+                if (parameters.length == 1 && parameters[0] instanceof Class) {
+                    ValueMapper<?> mapper = mapperFor((Class<?>) parameters[0]);
+                    return capability -> getConvertedList(mapper, capability);
                 }
             }
         }
         return null;
     }
 
-    private static <T> List<T> getConvertedList(Class<T> parameter, String capability) {
+    private static List<Object> getConvertedList(ValueMapper<?> mapper, String capability) {
 
         List<String> values = StringUtils.tokenize(capability);
-        List<T> convertedList = new ArrayList<T>(values.size());
+        List<Object> convertedList = new ArrayList<Object>(values.size());
         for (String value : values) {
 
-            convertedList.add(convertToBooleanNumberStringOrFile(parameter, value));
+            convertedList.add(mapper != null ? mapper.transform(value) : null);
         }
 
         return convertedList;
     }
 
-    private static <T> T convertToBooleanNumberStringOrFile(Class<T> clazz, String value) {
+    private static ValueMapper<?> mapperFor(Class<?> clazz) {
         for (ValueMapper<?> mapper : ConfigurationMapper.VALUE_MAPPERS) {
             if (mapper.handles(clazz)) {
-                return (T) mapper.transform(value);
+                return mapper;
             }
         }
 
@@ -203,4 +266,73 @@ public class CapabilitiesOptionsMapper {
             && (candidate.getReturnType().equals(Void.TYPE) || candidate.getReturnType().equals(candidate.getDeclaringClass()))
             && candidate.getParameterTypes().length > 0;
     }
+
+    /**
+     * Setters sharing the same name, the value is set by the first one which accepts it
+     */
+    private static final class Overloads {
+
+        private final List<Setter> setters;
+
+        Overloads(List<Setter> setters) {
+            this.setters = setters;
+        }
+
+        void apply(Object object, String capability) {
+            for (Setter setter : setters) {
+                try {
+                    if (setter.apply(object, capability)) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private interface Setter {
+
+        /**
+         * Sets the capability into the given object, returns false if the capability could not be converted
+         */
+        boolean apply(Object object, String capability) throws Exception;
+    }
+
+    private static final class ValueSetter implements Setter {
+
+        private final Method setter;
+        private final Function<String, Object> converter;
+
+        ValueSetter(Method setter, Function<String, Object> converter) {
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        @Override
+        public boolean apply(Object object, String capability) throws Exception {
+            Object converted = converter.apply(capability);
+            if (converted == null) {
+                return false;
+            }
+            // varargs are passed as an array, the same way the converted value is
+            setter.invoke(object, new Object[] {converted});
+            return true;
+        }
+    }
+
+    private static final class DictionarySetter implements Setter {
+
+        private final Method setter;
+
+        DictionarySetter(Method setter) {
+            this.setter = setter;
+        }
+
+        @Override
+        public boolean apply(Object object, String capability) throws Exception {
+            handleDictionaries(setter, object, capability);
+            return true;
+        }
+    }
 }
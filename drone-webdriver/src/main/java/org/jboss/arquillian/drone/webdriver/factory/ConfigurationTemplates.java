@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import org.jboss.arquillian.drone.configuration.DescriptorProperties;
+import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
+
+/**
+ * Fully mapped configurations of a factory by qualifier. Drone points with the same qualifier get a copy of the
+ * template, so the descriptor is mapped only once for all of them and a factory changing its copy does not affect the
+ * others.
+ * <p>
+ * The templates are valid only for the {@link DescriptorProperties} of the suite they were mapped from, they are
+ * dropped as soon as the properties of another suite are used.
+ */
+final class ConfigurationTemplates {
+
+    private final Map<Class<? extends Annotation>, WebDriverConfiguration> templates =
+        new HashMap<Class<? extends Annotation>, WebDriverConfiguration>();
+
+    // properties of the suite the templates were mapped from
+    private DescriptorProperties properties;
+
+    /**
+     * Returns a copy of the template for the given properties and qualifier, or null if there is no template
+     */
+    WebDriverConfiguration copyOf(DescriptorProperties properties, Class<? extends Annotation> qualifier) {
+        WebDriverConfiguration template;
+        synchronized (this) {
+            template = this.properties == properties ? templates.get(qualifier) : null;
+        }
+        return template != null ? template.copy() : null;
+    }
+
+    /**
+     * Stores a copy of the given configuration as the template for the given properties and qualifier
+     */
+    void store(DescriptorProperties properties, Class<? extends Annotation> qualifier,
+        WebDriverConfiguration configuration) {
+        WebDriverConfiguration template = configuration.copy();
+        synchronized (this) {
+            if (this.properties != properties) {
+                templates.clear();
+                this.properties = properties;
+            }
+            templates.put(qualifier, template);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.jboss.arquillian.drone.webdriver.factory;
 
 import java.net.URL;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jboss.arquillian.core.api.Event;
@@ -31,6 +32,7 @@ import org.jboss.arquillian.drone.webdriver.augmentation.AugmentingEnhancer;
 import org.jboss.arquillian.drone.webdriver.binary.handler.SeleniumServerBinaryHandler;
 import org.jboss.arquillian.drone.webdriver.binary.process.StartSeleniumServer;
 import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
+import org.jboss.arquillian.drone.webdriver.factory.remote.HedgedSessionCreator;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.InitializationParameter;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.InitializationParametersMap;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.PersistReusedSessionsEvent;
@@ -74,6 +76,9 @@ public class RemoteWebDriverFactory extends AbstractWebDriverFactory<RemoteWebDr
     @ApplicationScoped
     private InstanceProducer<ReusableRemoteWebDriverToDestroy> lastRemoteWebDriverToDestroy;
 
+    @Inject
+    private Instance<HedgedSessionCreator> hedgedSessionCreator;
+
     @Override
     public int getPrecedence() {
         return 0;
@@ -128,9 +133,9 @@ public class RemoteWebDriverFactory extends AbstractWebDriverFactory<RemoteWebDr
         RemoteWebDriver driver = null;
 
         if (configuration.isRemoteReusable()) {
-            driver = createReusableDriver(remoteAddress, desiredCapabilities);
+            driver = createReusableDriver(configuration, remoteAddress, desiredCapabilities);
         } else {
-            driver = createRemoteDriver(remoteAddress, desiredCapabilities);
+            driver = createNewSession(configuration, remoteAddress, desiredCapabilities);
         }
 
         // ARQ-1351
@@ -220,7 +225,29 @@ public class RemoteWebDriverFactory extends AbstractWebDriverFactory<RemoteWebDr
         return new RemoteWebDriver(remoteAddress, desiredCapabilities);
     }
 
-    private RemoteWebDriver createReusableDriver(URL remoteAddress, Capabilities desiredCapabilities) {
+    private RemoteWebDriver createNewSession(WebDriverConfiguration configuration, final URL remoteAddress,
+        final Capabilities desiredCapabilities) {
+        if (!configuration.isRemoteSessionHedging()) {
+            return createRemoteDriver(remoteAddress, desiredCapabilities);
+        }
+
+        HedgedSessionCreator creator = hedgedSessionCreator.get();
+        if (creator == null) {
+            log.log(Level.WARNING, "Remote session hedging is available only within a test suite, creating the session "
+                + "at {0} without hedging", remoteAddress);
+            return createRemoteDriver(remoteAddress, desiredCapabilities);
+        }
+
+        return creator.create(remoteAddress, new Callable<RemoteWebDriver>() {
+            @Override
+            public RemoteWebDriver call() {
+                return createRemoteDriver(remoteAddress, desiredCapabilities);
+            }
+        }, configuration.getRemoteSessionHedgingPercentile(), configuration.getRemoteSessionHedgingDelayInMillis());
+    }
+
+    private RemoteWebDriver createReusableDriver(WebDriverConfiguration configuration, URL remoteAddress,
+        Capabilities desiredCapabilities) {
         // construct init params
         InitializationParameter initParam = new InitializationParameter(remoteAddress, desiredCapabilities);
 
@@ -245,7 +272,7 @@ public class RemoteWebDriverFactory extends AbstractWebDriverFactory<RemoteWebDr
 
         if (driver == null) {
             // if either browser session isn't stored or can't be reused
-            RemoteWebDriver newdriver = createRemoteDriver(remoteAddress, desiredCapabilities);
+            RemoteWebDriver newdriver = createNewSession(configuration, remoteAddress, desiredCapabilities);
             driver = ReusableRemoteWebDriver.fromRemoteWebDriver(newdriver);
         }
 
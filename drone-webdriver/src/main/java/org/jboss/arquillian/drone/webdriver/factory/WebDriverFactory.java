@@ -16,6 +16,8 @@
  */
 package org.jboss.arquillian.drone.webdriver.factory;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jboss.arquillian.core.api.Instance;
@@ -23,6 +25,7 @@ import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.drone.spi.Configurator;
 import org.jboss.arquillian.drone.spi.Destructor;
 import org.jboss.arquillian.drone.spi.DroneRegistry;
+import org.jboss.arquillian.drone.spi.InstanceInterfaces;
 import org.jboss.arquillian.drone.spi.Instantiator;
 import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
 import org.jboss.arquillian.drone.webdriver.factory.remote.reusable.ReusableRemoteWebDriver;
@@ -37,7 +40,7 @@ import org.openqa.selenium.remote.RemoteWebDriver;
  */
 public class WebDriverFactory extends AbstractWebDriverFactory<WebDriver> implements
     Configurator<WebDriver, WebDriverConfiguration>, Instantiator<WebDriver, WebDriverConfiguration>,
-    Destructor<WebDriver> {
+    Destructor<WebDriver>, InstanceInterfaces<WebDriverConfiguration> {
 
     private static final Logger log = Logger.getLogger(WebDriverFactory.class.getName());
 
@@ -70,9 +73,8 @@ public class WebDriverFactory extends AbstractWebDriverFactory<WebDriver> implem
         if (instance instanceof ReusableRemoteWebDriver) {
             destructor = getRemoteWebDriverDestructor();
         } else {
-            try {
-                destructor = registryInstance.get().getEntryFor(instance.getClass(), Destructor.class);
-            } catch (Exception ignored) {
+            destructor = registryInstance.get().findEntryFor(instance.getClass(), Destructor.class);
+            if (destructor == null) {
                 log.log(Level.WARNING,
                     "Unable to get destructor for @Drone WebDriver, real class {0}, quitting instance using default disposal method",
                     instance.getClass().getSimpleName());
@@ -138,6 +140,32 @@ public class WebDriverFactory extends AbstractWebDriverFactory<WebDriver> implem
             "Unable to create Arquillian WebDriver browser, please set \"browser\" property");
     }
 
+    /**
+     * Returns all the interfaces of the browser implementation class, or of {@link RemoteWebDriver} for remote browsers
+     * and browsers whose class is not available, so a lazily injected WebDriver can be cast e.g. to
+     * {@link org.openqa.selenium.JavascriptExecutor} or {@link org.openqa.selenium.TakesScreenshot}
+     */
+    @Override
+    public Class<?>[] getInstanceInterfaces(WebDriverConfiguration configuration) {
+        Class<?> implementationClass = RemoteWebDriver.class;
+        if (!configuration.isRemoteReusable() && !configuration.isRemote()) {
+            try {
+                implementationClass = SecurityActions.getClass(configuration.getImplementationClass());
+            } catch (RuntimeException e) {
+                log.log(Level.FINE, "Unable to load implementation class of browser {0}, using interfaces of {1}",
+                    new Object[] {configuration.getBrowser(), RemoteWebDriver.class.getName()});
+            }
+        }
+
+        Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> type = implementationClass; type != null; type = type.getSuperclass()) {
+            for (Class<?> implemented : type.getInterfaces()) {
+                interfaces.add(implemented);
+            }
+        }
+        return interfaces.toArray(new Class<?>[interfaces.size()]);
+    }
+
     @Override
     protected String getDriverReadableName() {
         return null;
@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory.remote;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+/**
+ * Creates remote sessions with a hedging policy. If a new-session request has not completed within the given
+ * percentile of the creation times observed so far for the same remote address, a second request is fired. The
+ * session which is created first is used, the other one is quit as soon as it becomes available, even if this happens
+ * after the winning session was returned.
+ * <p>
+ * Until enough creation times are collected, the initial delay is used as the threshold.
+ * <p>
+ * One creator is shared by the whole suite, see {@link HedgedSessionCreatorLifecycle}, which shuts it down at the end
+ * of the suite.
+ */
+public class HedgedSessionCreator {
+
+    private static final Logger log = Logger.getLogger(HedgedSessionCreator.class.getName());
+
+    static final int MIN_SAMPLES = 5;
+
+    static final int MAX_SAMPLES = 64;
+
+    static final int SHUTDOWN_TIMEOUT_IN_SECONDS = 30;
+
+    private final ConcurrentMap<String, CreationTimes> creationTimes = new ConcurrentHashMap<String, CreationTimes>();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new HedgingThreadFactory());
+
+    /**
+     * Creates a session using the given creation, hedging it by a second one if it is too slow.
+     *
+     * @param remoteAddress
+     *     The address of the remote server the sessions are created at
+     * @param creation
+     *     A creation of a new remote session
+     * @param percentile
+     *     The percentile of observed creation times after which the request is hedged
+     * @param initialDelayInMillis
+     *     The delay after which the request is hedged, used until enough creation times are observed
+     *
+     * @return The session which was created first
+     *
+     * @throws RejectedExecutionException
+     *     if the creator was already shut down
+     */
+    public RemoteWebDriver create(URL remoteAddress, Callable<RemoteWebDriver> creation, int percentile,
+        long initialDelayInMillis) {
+
+        CreationTimes times = getCreationTimes(remoteAddress);
+        long threshold = times.threshold(percentile, initialDelayInMillis);
+
+        CompletionService<RemoteWebDriver> completionService =
+            new ExecutorCompletionService<RemoteWebDriver>(executor);
+        List<HedgedRequest> requests = new ArrayList<HedgedRequest>(2);
+        requests.add(submit(completionService, new HedgedRequest(creation, times)));
+
+        try {
+            Future<RemoteWebDriver> completed = completionService.poll(threshold, TimeUnit.MILLISECONDS);
+            if (completed == null) {
+                log.log(Level.INFO,
+                    "Session creation at {0} did not complete within {1} ms, sending a hedged new session request",
+                    new Object[] {remoteAddress, threshold});
+                requests.add(submit(completionService, new HedgedRequest(creation, times)));
+            }
+
+            Throwable failure = null;
+            for (int pending = requests.size(); pending > 0; pending--) {
+                if (completed == null) {
+                    completed = completionService.take();
+                }
+                try {
+                    RemoteWebDriver driver = completed.get();
+                    discardOthers(requests, completed);
+                    return driver;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+                completed = null;
+            }
+            throw asRuntimeException(failure);
+        } catch (InterruptedException e) {
+            discardOthers(requests, null);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for remote session creation at "
+                + remoteAddress, e);
+        }
+    }
+
+    /**
+     * Stops accepting new requests and waits for the discarded sessions which are still being created to be quit
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                log.log(Level.WARNING, "Discarded hedged sessions were not quit within {0} seconds, they might be still "
+                    + "running on the remote server", SHUTDOWN_TIMEOUT_IN_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HedgedRequest submit(CompletionService<RemoteWebDriver> completionService, HedgedRequest request) {
+        request.future = completionService.submit(request);
+        return request;
+    }
+
+    private CreationTimes getCreationTimes(URL remoteAddress) {
+        String key = String.valueOf(remoteAddress);
+        CreationTimes times = creationTimes.get(key);
+        if (times == null) {
+            CreationTimes created = new CreationTimes();
+            times = creationTimes.putIfAbsent(key, created);
+            if (times == null) {
+                times = created;
+            }
+        }
+        return times;
+    }
+
+    // sessions are not cancelled as the grid might create them anyway, they are quit once they are available
+    private void discardOthers(List<HedgedRequest> requests, Future<RemoteWebDriver> winner) {
+        for (HedgedRequest request : requests) {
+            if (request.future == winner) {
+                continue;
+            }
+            final RemoteWebDriver driver = request.discard();
+            if (driver == null) {
+                // either failed or still being created, in the latter case the request quits the session itself
+                continue;
+            }
+            try {
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        quit(driver);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                quit(driver);
+            }
+        }
+    }
+
+    private static void quit(RemoteWebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.log(Level.FINE, "Unable to quit the discarded hedged session", e);
+        }
+    }
+
+    private static RuntimeException asRuntimeException(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new WebDriverException("Unable to create a new remote session", failure);
+    }
+
+    /**
+     * A new session request, quitting the created session itself if it was discarded before the session was available
+     */
+    private static class HedgedRequest implements Callable<RemoteWebDriver> {
+        private final Callable<RemoteWebDriver> creation;
+        private final CreationTimes times;
+        private Future<RemoteWebDriver> future;
+        private RemoteWebDriver driver;
+        private boolean discarded;
+
+        HedgedRequest(Callable<RemoteWebDriver> creation, CreationTimes times) {
+            this.creation = creation;
+            this.times = times;
+        }
+
+        @Override
+        public RemoteWebDriver call() throws Exception {
+            long start = System.nanoTime();
+            RemoteWebDriver driver = creation.call();
+            times.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (!complete(driver)) {
+                quit(driver);
+            }
+            return driver;
+        }
+
+        private synchronized boolean complete(RemoteWebDriver driver) {
+            this.driver = driver;
+            return !discarded;
+        }
+
+        /**
+         * Returns the created session to be quit, null if it is not available yet
+         */
+        synchronized RemoteWebDriver discard() {
+            discarded = true;
+            return driver;
+        }
+    }
+
+    /**
+     * A sliding window of the latest successful creation times.
+     */
+    static class CreationTimes {
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized long threshold(int percentile, long initialDelayInMillis) {
+            if (count < MIN_SAMPLES) {
+                return initialDelayInMillis;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(Math.min(Math.max(percentile, 1), 100) / 100.0 * count);
+            return sorted[rank - 1];
+        }
+    }
+
+    private static class HedgingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "drone-session-hedging-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
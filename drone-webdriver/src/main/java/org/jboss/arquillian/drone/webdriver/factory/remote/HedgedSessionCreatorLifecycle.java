@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory.remote;
+
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Provides the {@link HedgedSessionCreator} shared by all remote drones of the suite and shuts it down once the drones
+ * were destroyed, but before the Selenium Server is stopped, so the discarded sessions can still be quit.
+ */
+public class HedgedSessionCreatorLifecycle {
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<HedgedSessionCreator> hedgedSessionCreator;
+
+    public void createHedgedSessionCreator(@Observes BeforeSuite event) {
+        hedgedSessionCreator.set(new HedgedSessionCreator());
+    }
+
+    public void shutdownHedgedSessionCreator(@Observes(precedence = 50) AfterSuite event) {
+        HedgedSessionCreator creator = hedgedSessionCreator.get();
+        if (creator != null) {
+            creator.shutdown();
+        }
+    }
+}
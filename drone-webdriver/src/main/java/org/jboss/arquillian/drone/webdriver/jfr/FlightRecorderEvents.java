@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.jfr;
+
+import java.io.File;
+import java.net.URL;
+
+/**
+ * Starts Java Flight Recorder events for the work WebDriver extension does outside of the Drone life cycle. If the JVM
+ * does not provide the {@code jdk.jfr} API, available since JDK 8u262, nothing is recorded. If it does but the events
+ * are not enabled in any recording, only the check whether they are enabled is done.
+ */
+public final class FlightRecorderEvents {
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    static final RecordedPhase NOT_RECORDED = new RecordedPhase() {
+        @Override
+        public void succeeded() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private FlightRecorderEvents() {
+    }
+
+    public static RecordedPhase binaryDownload(String binary, String browser, URL from) {
+        return JFR_AVAILABLE ? JfrRecordedPhase.binaryDownload(binary, browser, from) : NOT_RECORDED;
+    }
+
+    public static RecordedPhase binaryExtraction(String binary, String browser, File file) {
+        return JFR_AVAILABLE ? JfrRecordedPhase.binaryExtraction(binary, browser, file) : NOT_RECORDED;
+    }
+
+    public static RecordedPhase seleniumServerStartup(String browser, int port) {
+        return JFR_AVAILABLE ? JfrRecordedPhase.seleniumServerStartup(browser, port) : NOT_RECORDED;
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.jfr;
+
+import java.io.File;
+import java.net.URL;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded phase backed by a JFR event. This is the only place WebDriver extension touches {@code jdk.jfr} API, it is
+ * loaded only if the API is available.
+ */
+class JfrRecordedPhase implements RecordedPhase {
+
+    private final WebDriverJfrEvent event;
+    private boolean success;
+
+    private JfrRecordedPhase(WebDriverJfrEvent event) {
+        this.event = event;
+        event.begin();
+    }
+
+    static RecordedPhase binaryDownload(String binary, String browser, URL from) {
+        BinaryDownloadEvent event = new BinaryDownloadEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.NOT_RECORDED;
+        }
+        event.binary = binary;
+        event.browser = browser;
+        event.url = String.valueOf(from);
+        return new JfrRecordedPhase(event);
+    }
+
+    static RecordedPhase binaryExtraction(String binary, String browser, File file) {
+        BinaryExtractionEvent event = new BinaryExtractionEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.NOT_RECORDED;
+        }
+        event.binary = binary;
+        event.browser = browser;
+        event.file = String.valueOf(file);
+        return new JfrRecordedPhase(event);
+    }
+
+    static RecordedPhase seleniumServerStartup(String browser, int port) {
+        SeleniumServerStartupEvent event = new SeleniumServerStartupEvent();
+        if (!event.isEnabled()) {
+            return FlightRecorderEvents.NOT_RECORDED;
+        }
+        event.browser = browser;
+        event.port = port;
+        return new JfrRecordedPhase(event);
+    }
+
+    @Override
+    public void succeeded() {
+        success = true;
+    }
+
+    @Override
+    public void close() {
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = success ? "success" : "failure";
+            event.commit();
+        }
+    }
+
+    @Category({"Arquillian", "Drone", "WebDriver"})
+    abstract static class WebDriverJfrEvent extends Event {
+
+        @Label("Browser")
+        String browser;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("org.jboss.arquillian.drone.webdriver.BinaryDownload")
+    @Label("Binary Download")
+    @Description("Download of a driver or Selenium Server binary")
+    static class BinaryDownloadEvent extends WebDriverJfrEvent {
+
+        @Label("Binary")
+        String binary;
+
+        @Label("URL")
+        String url;
+    }
+
+    @Name("org.jboss.arquillian.drone.webdriver.BinaryExtraction")
+    @Label("Binary Extraction")
+    @Description("Extraction of a downloaded driver or Selenium Server binary")
+    static class BinaryExtractionEvent extends WebDriverJfrEvent {
+
+        @Label("Binary")
+        String binary;
+
+        @Label("File")
+        String file;
+    }
+
+    @Name("org.jboss.arquillian.drone.webdriver.SeleniumServerStartup")
+    @Label("Selenium Server Startup")
+    @Description("Startup of Selenium Server until it reports it is up and running")
+    static class SeleniumServerStartupEvent extends WebDriverJfrEvent {
+
+        @Label("Port")
+        int port;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.reset;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneReleased;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Resets the state of a WebDriver instance before it is released for reuse by another test. Closes all windows but
+ * the one the browser was started with, deletes cookies, clears local and session storage of the currently loaded page
+ * and navigates to {@code about:blank}.
+ * <p/>
+ * If the reset fails, the exception is propagated, so the instance is destroyed instead of being reused.
+ */
+public class BrowserStateResetter {
+
+    public static final String BLANK_PAGE = "about:blank";
+
+    private static final Logger log = Logger.getLogger(BrowserStateResetter.class.getName());
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+        "if (window.localStorage) { window.localStorage.clear(); } "
+            + "if (window.sessionStorage) { window.sessionStorage.clear(); }";
+
+    // the window each browser was started with, the entries are dropped together with the destroyed browsers
+    private final Map<WebDriver, String> mainWindows = Collections.synchronizedMap(new WeakHashMap<WebDriver, String>());
+
+    @Inject
+    Instance<DroneContext> droneContext;
+
+    public void recordMainWindow(@Observes AfterDroneInstantiated event) {
+        DronePoint<?> dronePoint = event.getDronePoint();
+
+        if (!dronePoint.conformsTo(WebDriver.class)) {
+            return;
+        }
+
+        WebDriver driver = droneContext.get().get(dronePoint).getInstanceAs(WebDriver.class);
+        try {
+            mainWindows.put(driver, driver.getWindowHandle());
+        } catch (WebDriverException e) {
+            log.log(Level.FINE, "Unable to get the window handle of {0}, reason: {1}", new Object[] {dronePoint, e});
+        }
+    }
+
+    public void resetBrowserState(@Observes BeforeDroneReleased event) {
+        DronePoint<?> dronePoint = event.getDronePoint();
+
+        if (!dronePoint.conformsTo(WebDriver.class)) {
+            // This Drone is not instance of WebDriver, we are not able to reset it
+            return;
+        }
+
+        WebDriver driver = droneContext.get().get(dronePoint).getInstanceAs(WebDriver.class);
+        reset(driver, dronePoint);
+    }
+
+    void reset(WebDriver driver, DronePoint<?> dronePoint) {
+        closeExtraWindows(driver);
+
+        // cookies and storage are bound to the loaded page, so they have to be cleared before leaving it
+        driver.manage().deleteAllCookies();
+        safelyClearStorage(driver, dronePoint);
+
+        driver.get(BLANK_PAGE);
+    }
+
+    private void closeExtraWindows(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        if (handles.size() <= 1) {
+            return;
+        }
+
+        // window handles are not ordered, so the window to keep is the one the browser was started with
+        String mainWindow = mainWindows.get(driver);
+        if (mainWindow == null || !handles.contains(mainWindow)) {
+            mainWindow = currentWindow(driver, handles);
+            mainWindows.put(driver, mainWindow);
+        }
+
+        for (String handle : handles) {
+            if (!handle.equals(mainWindow)) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(mainWindow);
+    }
+
+    private static String currentWindow(WebDriver driver, Set<String> handles) {
+        try {
+            String handle = driver.getWindowHandle();
+            if (handles.contains(handle)) {
+                return handle;
+            }
+        } catch (WebDriverException e) {
+            // the current window was already closed
+        }
+        return handles.iterator().next();
+    }
+
+    private static void safelyClearStorage(WebDriver driver, DronePoint<?> dronePoint) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            log.log(Level.FINE, "Unable to clear local and session storage for {0}, not supported for {1}",
+                new Object[] {dronePoint, driver.getClass().getName()});
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.configuration;
+
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.arquillian.drone.webdriver.factory.BrowserCapabilitiesList;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+/**
+ * Tests that merged capabilities are cached until the capabilities they were merged from change
+ */
+public class WebDriverConfigurationTestCase {
+
+    @Test
+    public void capabilitiesAreMergedOnce() {
+        ArquillianDescriptor descriptor = Descriptors.create(ArquillianDescriptor.class).extension("webdriver")
+            .property("foo", "bar");
+        WebDriverConfiguration configuration = new WebDriverConfiguration(new BrowserCapabilitiesList.HtmlUnit())
+            .configure(descriptor, Default.class);
+
+        Capabilities capabilities = configuration.getCapabilities();
+
+        Assert.assertEquals(capabilities, configuration.getCapabilities());
+        Assert.assertEquals("bar", capabilities.getCapability("foo"));
+        Assert.assertEquals("htmlunit", capabilities.getBrowserName());
+    }
+
+    @Test
+    public void capabilitiesAreMutableCopies() {
+        WebDriverConfiguration configuration = new WebDriverConfiguration(new BrowserCapabilitiesList.HtmlUnit())
+            .configure(Descriptors.create(ArquillianDescriptor.class).extension("webdriver")
+                .property("foo", "bar"), Default.class);
+
+        DesiredCapabilities capabilities = (DesiredCapabilities) configuration.getCapabilities();
+        capabilities.setCapability("foo", "changed");
+
+        Assert.assertNotSame(capabilities, configuration.getCapabilities());
+        Assert.assertEquals("bar", configuration.getCapabilities().getCapability("foo"));
+    }
+
+    @Test
+    public void capabilitiesAreMergedAgainWhenChanged() {
+        WebDriverConfiguration configuration = new WebDriverConfiguration(new BrowserCapabilitiesList.HtmlUnit())
+            .configure(Descriptors.create(ArquillianDescriptor.class).extension("webdriver")
+                .property("foo", "bar"), Default.class);
+        WebDriverConfiguration copy = configuration.copy();
+        copy.configure(Descriptors.create(ArquillianDescriptor.class).extension("webdriver")
+            .property("foo", "baz"), Default.class);
+
+        Assert.assertEquals("baz", copy.getCapabilities().getCapability("foo"));
+        Assert.assertEquals("bar", configuration.getCapabilities().getCapability("foo"));
+
+        configuration.setBrowserInternal(new BrowserCapabilitiesList.Chrome());
+
+        Assert.assertEquals("chrome", configuration.getCapabilities().getBrowserName());
+    }
+
+    @Test
+    public void rawCapabilitiesAreShared() {
+        Assert.assertSame(new BrowserCapabilitiesList.Chrome().getRawCapabilities(),
+            new BrowserCapabilitiesList.Chrome().getRawCapabilities());
+    }
+}
@@ -46,6 +46,24 @@ public class CapabilitiesDummyOptionsMapperTest {
         Assert.assertEquals(expectedDummyBrowserOptions, dummyBrowserOptions);
     }
 
+    @Test
+    public void testParseDummyOptionsRepeatedlyWithDifferentPrefixes() throws IOException {
+        DummyBrowserOptions expectedDummyBrowserOptions = prepareDummyBrowserOptions();
+        DesiredCapabilities desiredCapabilities = prepareDesiredCapabilities(expectedDummyBrowserOptions);
+
+        DummyBrowserOptions otherPrefixOptions = new DummyBrowserOptions();
+        CapabilitiesOptionsMapper.mapCapabilities(otherPrefixOptions, desiredCapabilities, "other");
+
+        DummyBrowserOptions firstOptions = new DummyBrowserOptions();
+        CapabilitiesOptionsMapper.mapCapabilities(firstOptions, desiredCapabilities, "dummy");
+        DummyBrowserOptions secondOptions = new DummyBrowserOptions();
+        CapabilitiesOptionsMapper.mapCapabilities(secondOptions, desiredCapabilities, "dummy");
+
+        Assert.assertEquals(new DummyBrowserOptions(), otherPrefixOptions);
+        Assert.assertEquals(expectedDummyBrowserOptions, firstOptions);
+        Assert.assertEquals(expectedDummyBrowserOptions, secondOptions);
+    }
+
     private DummyBrowserOptions prepareDummyBrowserOptions() {
         DummyBrowserOptions dummyBrowserOptions = new DummyBrowserOptions();
         dummyBrowserOptions.setStringParam("stringParam");
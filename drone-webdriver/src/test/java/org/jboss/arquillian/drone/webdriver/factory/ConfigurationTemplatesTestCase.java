@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory;
+
+import java.util.List;
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.drone.api.annotation.Default;
+import org.jboss.arquillian.drone.configuration.DescriptorProperties;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.webdriver.configuration.WebDriverConfiguration;
+import org.jboss.arquillian.drone.webdriver.htmlunit.DroneHtmlUnitDriver;
+import org.jboss.arquillian.drone.webdriver.impl.BrowserCapabilitiesRegistryImpl;
+import org.jboss.arquillian.drone.webdriver.spi.BrowserCapabilitiesRegistry;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.shrinkwrap.descriptor.api.Descriptors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests that drone points with the same qualifier get isolated copies of a single mapped configuration
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ConfigurationTemplatesTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private DronePoint<DroneHtmlUnitDriver> dronePoint;
+
+    private ArquillianDescriptor descriptor;
+
+    private HtmlUnitDriverFactory factory;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+    }
+
+    @Before
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        descriptor = Descriptors.create(ArquillianDescriptor.class).extension("webdriver")
+            .property("dimensions", "800x600").property("remoteAddress", "http://localhost:4444/wd/hub");
+
+        BrowserCapabilitiesRegistry registry = new BrowserCapabilitiesRegistryImpl()
+            .registerBrowserCapabilitiesFor("htmlunit", new BrowserCapabilitiesList.HtmlUnit());
+        bind(ApplicationScoped.class, BrowserCapabilitiesRegistry.class, registry);
+
+        Mockito.when(dronePoint.getQualifier()).thenReturn((Class) Default.class);
+
+        factory = new HtmlUnitDriverFactory();
+        getManager().inject(factory);
+    }
+
+    @Test
+    public void changesOfCopiesAreIsolated() {
+        bind(SuiteScoped.class, DescriptorProperties.class, new DescriptorProperties(descriptor));
+
+        WebDriverConfiguration first = factory.createConfiguration(descriptor, dronePoint);
+        first.setSeleniumServerArgs("-port 5555");
+        first.setDimensions("1x1");
+        first.setRemote(true);
+
+        WebDriverConfiguration second = factory.createConfiguration(descriptor, dronePoint);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("800x600", second.getDimensions());
+        Assert.assertNull(second.getSeleniumServerArgs());
+        Assert.assertFalse(second.isRemote());
+        Assert.assertEquals(first.getRemoteAddress(), second.getRemoteAddress());
+        Assert.assertEquals("htmlunit", second.getBrowser());
+    }
+
+    @Test
+    public void descriptorIsMappedDirectlyWithoutMemoizedProperties() {
+        WebDriverConfiguration first = factory.createConfiguration(descriptor, dronePoint);
+
+        descriptor.extension("webdriver").property("dimensions", "1024x768");
+        WebDriverConfiguration second = factory.createConfiguration(descriptor, dronePoint);
+
+        Assert.assertEquals("800x600", first.getDimensions());
+        Assert.assertEquals("1024x768", second.getDimensions());
+    }
+
+    @Test
+    public void templatesAreNotSharedBetweenSuites() {
+        bind(SuiteScoped.class, DescriptorProperties.class, new DescriptorProperties(descriptor));
+        WebDriverConfiguration first = factory.createConfiguration(descriptor, dronePoint);
+
+        descriptor.extension("webdriver").property("dimensions", "1024x768");
+        bind(SuiteScoped.class, DescriptorProperties.class, new DescriptorProperties(descriptor));
+        WebDriverConfiguration second = factory.createConfiguration(descriptor, dronePoint);
+
+        Assert.assertEquals("800x600", first.getDimensions());
+        Assert.assertEquals("1024x768", second.getDimensions());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.factory.remote;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgedSessionCreatorTest {
+
+    private static final long SLOW_SESSION_DELAY = 1500;
+
+    private HttpServer grid;
+    private URL remoteAddress;
+
+    private final AtomicInteger newSessionRequests = new AtomicInteger();
+    private final List<String> deletedSessions = new CopyOnWriteArrayList<String>();
+    private final CountDownLatch slowSessionDeleted = new CountDownLatch(1);
+    private final HedgedSessionCreator creator = new HedgedSessionCreator();
+
+    @Before
+    public void startGrid() throws IOException {
+        grid = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        grid.createContext("/wd/hub/session", new StubGridHandler());
+        grid.setExecutor(Executors.newCachedThreadPool());
+        grid.start();
+        remoteAddress = new URL("http://localhost:" + grid.getAddress().getPort() + "/wd/hub");
+    }
+
+    @After
+    public void stopGrid() {
+        creator.shutdown();
+        grid.stop(0);
+    }
+
+    @Test
+    public void shouldKeepFasterSessionAndQuitTheSlowOne() throws Exception {
+        RemoteWebDriver driver = creator.create(remoteAddress, newSession(), 95, 200);
+
+        assertThat(driver.getSessionId().toString()).isEqualTo("session-2");
+        assertThat(newSessionRequests.get()).isEqualTo(2);
+
+        assertThat(slowSessionDeleted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(deletedSessions).containsExactly("session-1");
+    }
+
+    @Test
+    public void shouldNotHedgeSessionCreatedWithinThreshold() throws Exception {
+        RemoteWebDriver driver = creator.create(remoteAddress, newSession(), 95, 5000);
+
+        assertThat(driver.getSessionId().toString()).isEqualTo("session-1");
+        assertThat(newSessionRequests.get()).isEqualTo(1);
+        assertThat(deletedSessions).isEmpty();
+    }
+
+    @Test
+    public void shutdownShouldWaitUntilTheSlowSessionIsQuit() throws Exception {
+        RemoteWebDriver driver = creator.create(remoteAddress, newSession(), 95, 200);
+        assertThat(driver.getSessionId().toString()).isEqualTo("session-2");
+
+        creator.shutdown();
+
+        assertThat(deletedSessions).containsExactly("session-1");
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectSessionsAfterShutdown() {
+        creator.shutdown();
+
+        creator.create(remoteAddress, newSession(), 95, 200);
+    }
+
+    @Test
+    public void shouldUseInitialDelayUntilEnoughSamplesAreCollected() {
+        HedgedSessionCreator.CreationTimes times = new HedgedSessionCreator.CreationTimes();
+        for (int i = 1; i < HedgedSessionCreator.MIN_SAMPLES; i++) {
+            times.record(i * 10);
+        }
+        assertThat(times.threshold(95, 1000)).isEqualTo(1000);
+
+        for (int i = HedgedSessionCreator.MIN_SAMPLES; i <= 20; i++) {
+            times.record(i * 10);
+        }
+        assertThat(times.threshold(95, 1000)).isEqualTo(190);
+        assertThat(times.threshold(50, 1000)).isEqualTo(100);
+        assertThat(times.threshold(100, 1000)).isEqualTo(200);
+    }
+
+    private Callable<RemoteWebDriver> newSession() {
+        return new Callable<RemoteWebDriver>() {
+            @Override
+            public RemoteWebDriver call() {
+                return new RemoteWebDriver(remoteAddress, new DesiredCapabilities());
+            }
+        };
+    }
+
+    /**
+     * Answers the first new session request after {@link #SLOW_SESSION_DELAY}, any subsequent one immediately.
+     */
+    private class StubGridHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            drain(exchange.getRequestBody());
+            String response;
+            if ("POST".equals(exchange.getRequestMethod())) {
+                int request = newSessionRequests.incrementAndGet();
+                if (request == 1) {
+                    sleep(SLOW_SESSION_DELAY);
+                }
+                response = "{\"value\":{\"sessionId\":\"session-" + request
+                    + "\",\"capabilities\":{\"browserName\":\"stub\"}}}";
+            } else if ("DELETE".equals(exchange.getRequestMethod())) {
+                String path = exchange.getRequestURI().getPath();
+                deletedSessions.add(path.substring(path.lastIndexOf('/') + 1));
+                slowSessionDeleted.countDown();
+                response = "{\"value\":null}";
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.close();
+        }
+
+        private void drain(InputStream in) throws IOException {
+            byte[] buffer = new byte[1024];
+            while (in.read(buffer) != -1) {
+                // discard the request payload
+            }
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
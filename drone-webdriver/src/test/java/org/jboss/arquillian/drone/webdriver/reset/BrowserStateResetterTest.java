@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.drone.webdriver.reset;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.drone.spi.DroneContext;
+import org.jboss.arquillian.drone.spi.DronePoint;
+import org.jboss.arquillian.drone.spi.DronePointContext;
+import org.jboss.arquillian.drone.spi.event.AfterDroneInstantiated;
+import org.jboss.arquillian.drone.spi.event.BeforeDroneReleased;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BrowserStateResetterTest {
+
+    private WebDriver driver;
+    private WebDriver.TargetLocator targetLocator;
+    private DronePoint<WebDriver> dronePoint;
+    private BrowserStateResetter resetter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        driver = mock(WebDriver.class);
+        targetLocator = mock(WebDriver.TargetLocator.class);
+        when(driver.switchTo()).thenReturn(targetLocator);
+        when(driver.manage()).thenReturn(mock(WebDriver.Options.class));
+
+        dronePoint = mock(DronePoint.class);
+        when(dronePoint.conformsTo(WebDriver.class)).thenReturn(true);
+        DronePointContext<WebDriver> pointContext = mock(DronePointContext.class);
+        when(pointContext.getInstanceAs(WebDriver.class)).thenReturn(driver);
+        DroneContext context = mock(DroneContext.class);
+        when(context.get(dronePoint)).thenReturn(pointContext);
+
+        resetter = new BrowserStateResetter();
+        resetter.droneContext = mock(Instance.class);
+        when(resetter.droneContext.get()).thenReturn(context);
+    }
+
+    @Test
+    public void shouldKeepWindowTheBrowserWasStartedWith() {
+        when(driver.getWindowHandle()).thenReturn("main");
+        resetter.recordMainWindow(new AfterDroneInstantiated(dronePoint));
+
+        // the handles are not ordered, the main window does not have to be the first one
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<String>(Arrays.asList("popup", "main", "other")));
+        when(driver.getWindowHandle()).thenReturn("other");
+        resetter.resetBrowserState(new BeforeDroneReleased(dronePoint));
+
+        verify(targetLocator).window("popup");
+        verify(targetLocator).window("other");
+        verify(driver, times(2)).close();
+        verify(targetLocator).window("main");
+        verify(driver).get(BrowserStateResetter.BLANK_PAGE);
+    }
+
+    @Test
+    public void shouldKeepCurrentWindowIfMainWindowIsUnknown() {
+        when(driver.getWindowHandles()).thenReturn(new LinkedHashSet<String>(Arrays.asList("popup", "current")));
+        when(driver.getWindowHandle()).thenReturn("current");
+        resetter.resetBrowserState(new BeforeDroneReleased(dronePoint));
+
+        verify(targetLocator).window("popup");
+        verify(driver).close();
+        verify(targetLocator).window("current");
+    }
+}